@@ -0,0 +1,69 @@
+package com.arca.backend.security;
+
+import com.arca.backend.service.PermissionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificação de url_api feita em toda requisição autenticada, com as permissões de data.sql.
+ * hasApiPermission chama o PermissionService real, com os matchers das roles já em cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiPermissionMatcherBenchmark {
+
+    private ApiPermissionMatcher geralMatcher;
+    private PermissionService permissionService;
+    private Set<Long> roleIds;
+
+    @Setup
+    public void setUp() {
+        geralMatcher = SecurityFixtures.compileRoleMatchers().get(SecurityFixtures.ADMIN_GERAL.getId());
+        permissionService = SecurityFixtures.permissionService();
+        // Usuário com várias roles sem acesso total: percorre todos os matchers no pior caso
+        roleIds = new CustomUserDetails(SecurityFixtures.user(10L, "multi@arca.com",
+                "SCHOOL", "ADMIN_CEDOC", "ADMIN_PEDAGOGICO", "ADMIN_CINE")).getRoleIds();
+        // Primeira verificação compila e guarda os matchers, como no primeiro acesso de cada role
+        permissionService.hasApiPermission(roleIds, "/api/documents/42");
+    }
+
+    @Benchmark
+    public boolean matches(Request request) {
+        return geralMatcher.matches(request.uri);
+    }
+
+    @Benchmark
+    public boolean hasApiPermission(Request request) {
+        return permissionService.hasApiPermission(roleIds, request.uri);
+    }
+
+    // Custo de recompilar os matchers após uma alteração de permissões
+    @Benchmark
+    public Map<Long, ApiPermissionMatcher> compile() {
+        return SecurityFixtures.compileRoleMatchers();
+    }
+
+    // URIs liberadas para a maioria das roles, só para algumas e para nenhuma (pior caso)
+    @State(Scope.Benchmark)
+    public static class Request {
+        @Param({"/api/documents/42", "/api/videos/pending", "/api/articles/7/approve", "/api/cache/clear"})
+        private String uri;
+    }
+}
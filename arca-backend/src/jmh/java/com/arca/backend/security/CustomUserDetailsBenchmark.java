@@ -0,0 +1,54 @@
+package com.arca.backend.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authorities e ids das roles, lidos pelo Spring Security e pela autorização a cada requisição
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomUserDetailsBenchmark {
+
+    private CustomUserDetails singleRole;
+    private CustomUserDetails manyRoles;
+
+    @Setup
+    public void setUp() {
+        singleRole = new CustomUserDetails(SecurityFixtures.user(1L, "root@arca.com", "ROOT"));
+        manyRoles = new CustomUserDetails(SecurityFixtures.user(10L, "multi@arca.com",
+                "SCHOOL", "ADMIN_CEDOC", "ADMIN_PEDAGOGICO", "ADMIN_CINE", "ADMIN_GERAL"));
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> authoritiesSingleRole() {
+        return singleRole.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> authoritiesManyRoles() {
+        return manyRoles.getAuthorities();
+    }
+
+    @Benchmark
+    public Set<Long> roleIdsManyRoles() {
+        return manyRoles.getRoleIds();
+    }
+}
@@ -0,0 +1,71 @@
+package com.arca.backend.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisição do JwtService: emissão no login e leitura/validação do token no filtro.
+ * verifiedCacheTtl=0 mede o parse com verificação da assinatura a cada chamada; com o valor
+ * padrão (30000) mede o caminho servido pelo cache de tokens verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({"0", "30000"})
+    private long verifiedCacheTtl;
+
+    private JwtService jwtService;
+    private CustomUserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SecurityFixtures.JWT_SECRET, SecurityFixtures.JWT_EXPIRATION,
+                verifiedCacheTtl, 10000, new PermissionVersionTracker());
+        userDetails = new CustomUserDetails(SecurityFixtures.user(6L, "geral@arca.com", "ADMIN_GERAL"));
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, userDetails);
+    }
+
+    // Caminho completo do JwtAuthenticationFilter: um parse e o usuário montado a partir dos claims
+    @Benchmark
+    public Optional<CustomUserDetails> authenticate() {
+        Claims claims = jwtService.parseToken(token);
+        if (!jwtService.isTokenValid(claims, userDetails)) {
+            return Optional.empty();
+        }
+        return jwtService.extractCurrentUserDetails(claims);
+    }
+}
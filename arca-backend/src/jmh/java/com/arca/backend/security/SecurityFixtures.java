@@ -0,0 +1,105 @@
+package com.arca.backend.security;
+
+import com.arca.backend.model.Contact;
+import com.arca.backend.model.Permission;
+import com.arca.backend.model.Role;
+import com.arca.backend.model.User;
+import com.arca.backend.repository.RoleRepository;
+import com.arca.backend.service.PermissionService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Roles e permissões iguais às de db/migrations/data.sql, montadas em memória para os benchmarks
+ */
+final class SecurityFixtures {
+
+    // Chave de application.properties (jwt.secret)
+    static final String JWT_SECRET = "MinhaChaveSecretaMuitoSeguraParaJWTArcaBackend2025ComMaisDe256Bits";
+    static final long JWT_EXPIRATION = 86400000L;
+
+    static final Permission ROOT_ACCESS = new Permission(1L, "root.access", null,
+            "/api/**", "/**");
+    static final Permission CEDOC_ACCESS = new Permission(2L, "cedoc.access", null,
+            "/api/documents/**,/api/categories/**,/api/repositories/**,/api/schools/**,/api/users/**", "/cedoc/**");
+    static final Permission PEDAGOGICO_ACCESS = new Permission(3L, "pedagogico.access", null,
+            "/api/articles/**,/api/journals/**,/api/comments/**,/api/categories/**,/api/repositories/**,/api/schools/**,/api/users/**",
+            "/pedagogico/**,/pedagogico/revistas,/pedagogico/artigos");
+    static final Permission CINE_ACCESS = new Permission(4L, "cine.access", null,
+            "/api/videos/**,/api/repositories/**,/api/schools/**,/api/users/**", "/saoleoemcine/**");
+
+    static final Role ROOT = new Role(1L, "ROOT", null, Set.of(ROOT_ACCESS));
+    static final Role SCHOOL = new Role(2L, "SCHOOL", null, Set.of());
+    static final Role ADMIN_CEDOC = new Role(3L, "ADMIN_CEDOC", null, Set.of(CEDOC_ACCESS));
+    static final Role ADMIN_PEDAGOGICO = new Role(4L, "ADMIN_PEDAGOGICO", null, Set.of(PEDAGOGICO_ACCESS));
+    static final Role ADMIN_CINE = new Role(5L, "ADMIN_CINE", null, Set.of(CINE_ACCESS));
+    static final Role ADMIN_GERAL = new Role(6L, "ADMIN_GERAL", null,
+            Set.of(CEDOC_ACCESS, PEDAGOGICO_ACCESS, CINE_ACCESS));
+
+    static final List<Role> ROLES = List.of(ROOT, SCHOOL, ADMIN_CEDOC, ADMIN_PEDAGOGICO, ADMIN_CINE, ADMIN_GERAL);
+
+    private SecurityFixtures() {
+    }
+
+    /**
+     * Usuário ativo com as roles informadas (ex: "ADMIN_GERAL")
+     */
+    static User user(long id, String email, String... roleNames) {
+        Set<String> names = Set.of(roleNames);
+        Contact contact = new Contact();
+        contact.setEmail(email);
+
+        User user = new User();
+        user.setId(id);
+        user.setName("Usuário " + id);
+        user.setContact(contact);
+        user.setActive(true);
+        user.setRoles(ROLES.stream()
+                .filter(role -> names.contains(role.getName()))
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        return user;
+    }
+
+    /**
+     * PermissionService real, com as roles lidas de um RoleRepository em memória
+     */
+    static PermissionService permissionService() {
+        PermissionService permissionService = new PermissionService();
+        ReflectionTestUtils.setField(permissionService, "roleRepository", roleRepository());
+        return permissionService;
+    }
+
+    // Responde só findByIdWithPermissions, a única consulta usada na verificação de url_api
+    private static RoleRepository roleRepository() {
+        Map<Long, Role> roles = ROLES.stream().collect(Collectors.toMap(Role::getId, role -> role));
+        return (RoleRepository) Proxy.newProxyInstance(RoleRepository.class.getClassLoader(),
+                new Class<?>[]{RoleRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findByIdWithPermissions" -> Optional.ofNullable(roles.get((Long) args[0]));
+                    case "toString" -> "RoleRepository(SecurityFixtures)";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Matchers por role, compilados como em PermissionService
+     */
+    static Map<Long, ApiPermissionMatcher> compileRoleMatchers() {
+        Map<Long, ApiPermissionMatcher> matchers = new HashMap<>();
+        for (Role role : ROLES) {
+            matchers.put(role.getId(), ApiPermissionMatcher.compile(role.getPermissions().stream()
+                    .map(Permission::getUrlApi)
+                    .collect(Collectors.toList())));
+        }
+        return matchers;
+    }
+}
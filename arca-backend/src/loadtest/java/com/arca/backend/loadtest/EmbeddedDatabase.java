@@ -0,0 +1,53 @@
+package com.arca.backend.loadtest;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+
+/**
+ * MariaDB real (binários do MariaDB4j) iniciado em um diretório local, no lugar do banco de produção.
+ * Os dados ficam em target/loadtest/mariadb e são recriados a cada execução.
+ */
+final class EmbeddedDatabase implements AutoCloseable {
+
+    static final String DATABASE = "arca";
+
+    private final DB db;
+    private final int port;
+
+    private EmbeddedDatabase(DB db, int port) {
+        this.db = db;
+        this.port = port;
+    }
+
+    static EmbeddedDatabase start(File workDir, int port) throws ManagedProcessException {
+        File dataDir = new File(workDir, "data");
+        FileSystemUtils.deleteRecursively(dataDir);
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder()
+                .setPort(port)
+                .setBaseDir(new File(workDir, "base"))
+                .setDataDir(dataDir)
+                // Buffer pool e conexões próximos de um servidor de produção pequeno
+                .addArg("--innodb-buffer-pool-size=512M")
+                .addArg("--max-connections=200");
+        if ("root".equals(System.getProperty("user.name"))) {
+            config.addArg("--user=root");
+        }
+        DB db = DB.newEmbeddedDB(config.build());
+        db.start();
+        db.createDB(DATABASE);
+        return new EmbeddedDatabase(db, db.getConfiguration().getPort());
+    }
+
+    String jdbcUrl() {
+        return "jdbc:mariadb://127.0.0.1:" + port + "/" + DATABASE;
+    }
+
+    @Override
+    public void close() throws ManagedProcessException {
+        db.stop();
+    }
+}
@@ -0,0 +1,530 @@
+package com.arca.backend.loadtest;
+
+import com.arca.backend.service.SyntheticDataService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Executa o mix de requisições contra a API com N usuários simultâneos (modelo fechado: cada
+ * usuário envia a próxima requisição assim que recebe a resposta) e mede a latência por endpoint.
+ */
+final class LoadDriver {
+
+    static final String DEFAULT_MIX = "public:55,documents:30,upload:10,moderation:5";
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int PAGE_SIZE = 50;
+    // Ids conhecidos guardados para consultas por id (limitado para não crescer durante a execução)
+    private static final int MAX_KNOWN_IDS = 10000;
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final Map<String, Integer> mix;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Scenario> scenarios = new ArrayList<>();
+
+    // Dados de referência lidos da própria API antes da carga
+    private String token;
+    private long userId;
+    private List<Long> schoolIds;
+    private List<Long> categoryIds;
+    private List<Long> cedocRepositoryIds;
+    private List<Long> cineRepositoryIds;
+    private List<Long> approvedVideoIds;
+    private List<Long> approvedArticleIds;
+    private final List<Long> documentIds = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<Long> pendingVideoIds = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> pendingArticleIds = new ConcurrentLinkedQueue<>();
+
+    LoadDriver(String baseUrl, LoadTestOptions options) {
+        this.baseUrl = baseUrl;
+        this.concurrency = options.getInt("concurrency", 16);
+        this.warmupSeconds = options.getInt("warmup", 15);
+        this.durationSeconds = options.getInt("duration", 60);
+        this.mix = options.getWeights("mix", DEFAULT_MIX);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Autentica e carrega os ids usados pelos cenários
+     */
+    void prepare(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<byte[]> login = client.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(json(Map.of("email", email, "password", password)))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + email + ": HTTP " + login.statusCode());
+        }
+        JsonNode auth = objectMapper.readTree(login.body());
+        token = auth.get("token").asText();
+        userId = auth.get("id").asLong();
+
+        schoolIds = ids(getJson("/api/schools"));
+        categoryIds = ids(getJson("/api/categories"));
+        cedocRepositoryIds = ids(getJson("/api/repositories?type=CEDOC"));
+        cineRepositoryIds = ids(getJson("/api/repositories?type=SAO_LEO_EM_CINE"));
+        approvedVideoIds = sample(ids(getJson("/api/public/videos")));
+        approvedArticleIds = sample(ids(getJson("/api/public/articles")));
+        pendingVideoIds.addAll(sample(ids(getJson("/api/videos/status/PENDING"))));
+        pendingArticleIds.addAll(sample(ids(getJson("/api/articles/pending"))));
+        documentIds.addAll(ids(getJson("/api/documents?limit=" + PAGE_SIZE)));
+        if (schoolIds.isEmpty() || categoryIds.isEmpty() || cedocRepositoryIds.isEmpty()
+                || cineRepositoryIds.isEmpty() || documentIds.isEmpty()) {
+            throw new IllegalStateException("Database has no schools, categories, repositories or documents to test with");
+        }
+        defineScenarios();
+    }
+
+    private void defineScenarios() {
+        // Portal público (anônimo)
+        add("public", "GET /api/public/stats", 10, session -> get("/api/public/stats", false));
+        add("public", "GET /api/public/videos", 10, session -> get("/api/public/videos", false));
+        add("public", "GET /api/public/articles", 10, session -> get("/api/public/articles", false));
+        add("public", "GET /api/public/journals", 5, session -> get("/api/public/journals", false));
+        add("public", "GET /api/public/repositories", 5, session -> get("/api/public/repositories", false));
+        add("public", "GET /api/public/videos/{id}", 10,
+                session -> get("/api/public/videos/" + session.pick(approvedVideoIds), false));
+        add("public", "GET /api/public/articles/{id}", 5,
+                session -> get("/api/public/articles/" + session.pick(approvedArticleIds), false));
+        add("public", "GET /api/public/search", 5,
+                session -> get("/api/public/search?q=" + encode(session.word()) + "&limit=20", false));
+
+        // Área administrativa do CEDOC
+        add("documents", "GET /api/documents?after", 40, session -> get("/api/documents?limit=" + PAGE_SIZE
+                + (session.cursor != null ? "&after=" + encode(session.cursor) : ""), true))
+                .onResponse((session, response) -> {
+                    session.cursor = response.headers().firstValue(NEXT_CURSOR_HEADER).orElse(null);
+                    // Volta ao início depois de algumas páginas, como um usuário navegando
+                    if (++session.pages >= 20) {
+                        session.cursor = null;
+                        session.pages = 0;
+                    }
+                    if (documentIds.size() < MAX_KNOWN_IDS) {
+                        documentIds.addAll(ids(body(response)));
+                    }
+                });
+        add("documents", "GET /api/documents/{id}", 30,
+                session -> get("/api/documents/" + session.pick(documentIds), true));
+        add("documents", "GET /api/documents/school/{id}", 10,
+                session -> get("/api/documents/school/" + session.pick(schoolIds), true));
+        add("documents", "GET /api/search", 20,
+                session -> get("/api/search?q=" + encode(session.word()) + "&types=DOCUMENT&limit=20", true));
+
+        // Cadastro de conteúdo
+        add("upload", "POST /api/documents", 60, session -> {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("userId", userId);
+            body.put("title", "Carga " + session.word() + " " + session.random.nextInt(1000000));
+            body.put("description", session.word() + " " + session.word());
+            body.put("link", "https://arca.test/carga/" + session.random.nextInt(1000000));
+            body.put("categoryId", session.pick(categoryIds));
+            body.put("schoolId", session.pick(schoolIds));
+            body.put("repositoryId", session.pick(cedocRepositoryIds));
+            return authorized(HttpRequest.newBuilder(uri("/api/documents"))
+                    .header("Content-Type", "application/json")
+                    .POST(json(body)));
+        });
+        add("upload", "POST /api/videos", 40, session -> {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("userId", userId);
+            body.put("title", "Vídeo de carga " + session.random.nextInt(1000000));
+            body.put("description", session.word());
+            body.put("url", "https://arca.test/carga/" + session.random.nextInt(1000000) + ".mp4");
+            body.put("repositoryId", session.pick(cineRepositoryIds));
+            body.put("schoolId", session.pick(schoolIds));
+            return authorized(HttpRequest.newBuilder(uri("/api/videos"))
+                    .header("Content-Type", "application/json")
+                    .POST(json(body)));
+        }).onResponse((session, response) -> {
+            JsonNode created = readTree(body(response));
+            if (created != null && created.has("id")) {
+                pendingVideoIds.add(created.get("id").asLong());
+            }
+        });
+
+        // Moderação (sem pendentes na fila, reaprova um item já aprovado)
+        add("moderation", "PUT /api/videos/{id}/approve", 40, session -> put("/api/videos/"
+                + next(pendingVideoIds, session, approvedVideoIds) + "/approve", null));
+        add("moderation", "PUT /api/articles/{id}/approve", 30, session -> put("/api/articles/"
+                + next(pendingArticleIds, session, approvedArticleIds) + "/approve", null));
+        add("moderation", "PUT /api/videos/batch/reject", 30, session -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                Long id = pendingVideoIds.poll();
+                if (id == null) {
+                    break;
+                }
+                ids.add(id);
+            }
+            if (ids.isEmpty()) {
+                ids.add(session.pick(approvedVideoIds));
+            }
+            return put("/api/videos/batch/reject", Map.of("ids", ids, "reason", "Teste de carga"));
+        });
+    }
+
+    /**
+     * Executa o aquecimento e a medição; retorna as estatísticas por endpoint
+     */
+    List<EndpointStats> run() throws InterruptedException {
+        List<Scenario> active = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            Integer groupWeight = mix.get(scenario.group);
+            if (groupWeight != null && groupWeight > 0) {
+                active.add(scenario);
+            }
+        }
+        if (active.isEmpty()) {
+            throw new IllegalArgumentException("Mix selects no scenario: " + mix);
+        }
+        double[] cumulative = cumulativeWeights(active);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + durationSeconds * 1_000_000_000L;
+        List<Map<String, EndpointStats>> perWorker = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int w = 0; w < concurrency; w++) {
+            Session session = new Session(w);
+            Thread worker = new Thread(() -> {
+                Map<String, EndpointStats> stats = new LinkedHashMap<>();
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        Scenario scenario = active.get(pickIndex(cumulative, session.random.nextDouble()));
+                        int status;
+                        HttpResponse<byte[]> response = null;
+                        try {
+                            response = client.send(scenario.request.apply(session), HttpResponse.BodyHandlers.ofByteArray());
+                            status = response.statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        }
+                        long finished = System.nanoTime();
+                        if (response != null && status < 400 && scenario.onResponse != null) {
+                            scenario.onResponse.accept(session, response);
+                        }
+                        if (now >= measureFrom && finished <= end) {
+                            stats.computeIfAbsent(scenario.name, EndpointStats::new)
+                                    .record(finished - now, status, response != null ? response.body().length : 0);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    perWorker.add(stats);
+                    done.countDown();
+                }
+            }, "load-" + w);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+
+        Map<String, EndpointStats> merged = new LinkedHashMap<>();
+        for (Scenario scenario : active) {
+            merged.put(scenario.name, new EndpointStats(scenario.name));
+        }
+        for (Map<String, EndpointStats> stats : perWorker) {
+            for (EndpointStats endpoint : stats.values()) {
+                merged.get(endpoint.name).merge(endpoint);
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    void printReport(List<EndpointStats> stats, PrintWriter out) {
+        EndpointStats total = new EndpointStats("TOTAL");
+        out.printf("%-36s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "rps", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointStats endpoint : stats) {
+            printRow(endpoint, out);
+            total.merge(endpoint);
+        }
+        printRow(total, out);
+        out.printf("%d usuários simultâneos, %ds de medição após %ds de aquecimento%n",
+                concurrency, durationSeconds, warmupSeconds);
+        out.flush();
+    }
+
+    void writeCsv(List<EndpointStats> stats, Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,errors,rps,p50_ms,p95_ms,p99_ms,max_ms,avg_bytes");
+        for (EndpointStats endpoint : stats) {
+            lines.add(String.format(Locale.ROOT, "\"%s\",%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%d",
+                    endpoint.name, endpoint.count, endpoint.errors, endpoint.count / (double) durationSeconds,
+                    endpoint.percentileMs(0.50), endpoint.percentileMs(0.95), endpoint.percentileMs(0.99),
+                    endpoint.percentileMs(1.0), endpoint.count > 0 ? endpoint.bytes / endpoint.count : 0));
+        }
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.write(path, lines, StandardCharsets.UTF_8);
+    }
+
+    private void printRow(EndpointStats endpoint, PrintWriter out) {
+        out.printf("%-36s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.name, endpoint.count, endpoint.errors,
+                endpoint.count / (double) durationSeconds, endpoint.percentileMs(0.50), endpoint.percentileMs(0.95),
+                endpoint.percentileMs(0.99), endpoint.percentileMs(1.0));
+    }
+
+    private Scenario add(String group, String name, int weight, Function<Session, HttpRequest> request) {
+        Scenario scenario = new Scenario(group, name, weight, request);
+        scenarios.add(scenario);
+        return scenario;
+    }
+
+    // Peso efetivo: peso do grupo no mix dividido entre os cenários do grupo
+    private double[] cumulativeWeights(List<Scenario> active) {
+        Map<String, Integer> groupTotals = new LinkedHashMap<>();
+        for (Scenario scenario : active) {
+            groupTotals.merge(scenario.group, scenario.weight, Integer::sum);
+        }
+        double[] cumulative = new double[active.size()];
+        double sum = 0;
+        for (int i = 0; i < active.size(); i++) {
+            Scenario scenario = active.get(i);
+            sum += mix.get(scenario.group) * scenario.weight / (double) groupTotals.get(scenario.group);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int pickIndex(double[] cumulative, double value) {
+        int index = Arrays.binarySearch(cumulative, value);
+        index = index >= 0 ? index : -index - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+
+    private static long next(ConcurrentLinkedQueue<Long> pending, Session session, List<Long> fallback) {
+        Long id = pending.poll();
+        return id != null ? id : session.pick(fallback);
+    }
+
+    private HttpRequest get(String path, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Accept-Encoding", "gzip")
+                .timeout(Duration.ofSeconds(60))
+                .GET();
+        return authenticated ? authorized(builder) : builder.build();
+    }
+
+    private HttpRequest put(String path, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path));
+        if (body != null) {
+            builder.header("Content-Type", "application/json").PUT(json(body));
+        } else {
+            builder.PUT(HttpRequest.BodyPublishers.noBody());
+        }
+        return authorized(builder);
+    }
+
+    private HttpRequest authorized(HttpRequest.Builder builder) {
+        return builder.header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+    }
+
+    private byte[] getJson(String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofMinutes(2))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " failed: HTTP " + response.statusCode());
+        }
+        return body(response);
+    }
+
+    // Respostas maiores vêm comprimidas (Accept-Encoding: gzip)
+    private static byte[] body(HttpResponse<byte[]> response) {
+        if (!"gzip".equalsIgnoreCase(response.headers().firstValue("Content-Encoding").orElse(""))) {
+            return response.body();
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    private List<Long> ids(byte[] body) {
+        List<Long> ids = new ArrayList<>();
+        JsonNode array = readTree(body);
+        if (array != null && array.isArray()) {
+            for (JsonNode item : array) {
+                if (item.has("id")) {
+                    ids.add(item.get("id").asLong());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static List<Long> sample(List<Long> ids) {
+        if (ids.size() <= MAX_KNOWN_IDS) {
+            return ids;
+        }
+        Collections.shuffle(ids, new Random(7));
+        return new ArrayList<>(ids.subList(0, MAX_KNOWN_IDS));
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Estado de um usuário virtual: gerador aleatório próprio e cursor da listagem paginada
+     */
+    private static final class Session {
+        private final Random random;
+        private String cursor;
+        private int pages;
+
+        private Session(int index) {
+            this.random = new Random(1000L + index);
+        }
+
+        private <T> T pick(List<T> values) {
+            if (values.isEmpty()) {
+                throw new IllegalStateException("No ids available for scenario");
+            }
+            return values.get(random.nextInt(values.size()));
+        }
+
+        private String word() {
+            return SyntheticDataService.WORDS[random.nextInt(SyntheticDataService.WORDS.length)];
+        }
+    }
+
+    private interface ResponseHandler {
+        void accept(Session session, HttpResponse<byte[]> response);
+    }
+
+    private static final class Scenario {
+        private final String group;
+        private final String name;
+        private final int weight;
+        private final Function<Session, HttpRequest> request;
+        private ResponseHandler onResponse;
+
+        private Scenario(String group, String name, int weight, Function<Session, HttpRequest> request) {
+            this.group = group;
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        private Scenario onResponse(ResponseHandler handler) {
+            this.onResponse = handler;
+            return this;
+        }
+    }
+
+    /**
+     * Latências (ns) e erros de um endpoint; respostas 4xx/5xx e falhas de conexão contam como erro
+     */
+    static final class EndpointStats {
+        private final String name;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long bytes;
+        private boolean sorted;
+
+        private EndpointStats(String name) {
+            this.name = name;
+        }
+
+        private void record(long latencyNanos, int status, int size) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            sorted = false;
+            bytes += size;
+            if (status < 200 || status >= 400) {
+                errors++;
+            }
+        }
+
+        private void merge(EndpointStats other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            sorted = false;
+            errors += other.errors;
+            bytes += other.bytes;
+        }
+
+        private double percentileMs(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            if (!sorted) {
+                Arrays.sort(latencies, 0, count);
+                sorted = true;
+            }
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return latencies[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+        }
+    }
+}
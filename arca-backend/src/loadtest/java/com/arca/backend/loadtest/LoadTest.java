@@ -0,0 +1,132 @@
+package com.arca.backend.loadtest;
+
+import com.arca.backend.ArcaBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Teste de carga HTTP da API.
+ *
+ * Sem o parâmetro target: inicia um MariaDB local (MariaDB4j), sobe a aplicação uma vez para criar o
+ * schema e gravar a massa sintética (perfil datagen), sobe de novo já com os índices de db/migrations e
+ * executa o mix de requisições. Com target=http://host:porta a carga vai para uma instância já em
+ * execução (os dados de referência são lidos da própria API).
+ *
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="duration=120 concurrency=32 documents=500000"
+ */
+public final class LoadTest {
+
+    // Índices criados em produção pelos scripts de migração (o Hibernate não os gera)
+    private static final String[] INDEX_SCRIPTS = {
+            "db/migrations/add_keyset_pagination_indexes.sql",
+            "db/migrations/add_articles_status_journal_index.sql",
+            "db/migrations/add_fulltext_search_indexes.sql"
+    };
+
+    // Parâmetros repassados ao gerador como datagen.<chave>
+    private static final String[] DATASET_OPTIONS = {
+            "schools", "users", "categories", "documents", "videos", "journals", "articles", "max-comment-chain", "seed"
+    };
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions(args);
+        String target = options.get("target", null);
+        File workDir = new File(options.get("work-dir", "target/loadtest"));
+
+        if (target != null) {
+            runLoad(target, options);
+            return;
+        }
+
+        try (EmbeddedDatabase database = EmbeddedDatabase.start(new File(workDir, "mariadb"), options.getInt("db-port", 0))) {
+            System.out.println("MariaDB em " + database.jdbcUrl());
+            seed(database, options);
+
+            String facetIndex = new File(workDir, "facet-index").getAbsolutePath();
+            List<String> appArgs = applicationArgs(database, options);
+            appArgs.add("--server.port=" + options.getInt("port", 0));
+            appArgs.add("--management.server.port=" + options.getInt("management-port", 0));
+            appArgs.add("--spring.jpa.hibernate.ddl-auto=none");
+            appArgs.add("--search.facets.index-path=" + facetIndex);
+            try (ConfigurableApplicationContext app = start(appArgs)) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                runLoad("http://127.0.0.1:" + port, options);
+            }
+        }
+        System.exit(0);
+    }
+
+    // Primeira subida: o Hibernate cria o schema, data.sql grava roles e permissões e o perfil
+    // datagen (SyntheticDataService) grava a massa sintética; os índices vêm depois da carga
+    private static void seed(EmbeddedDatabase database, LoadTestOptions options) {
+        List<String> appArgs = applicationArgs(database, options);
+        appArgs.add("--spring.profiles.active=datagen");
+        appArgs.add("--datagen.exit=false");
+        for (String key : DATASET_OPTIONS) {
+            String value = options.get(key, null);
+            if (value != null) {
+                appArgs.add("--datagen." + key + "=" + value);
+            }
+        }
+        appArgs.add("--spring.jpa.hibernate.ddl-auto=create");
+        appArgs.add("--spring.sql.init.mode=always");
+        appArgs.add("--spring.sql.init.encoding=UTF-8");
+        appArgs.add("--spring.sql.init.data-locations=classpath:db/migrations/data.sql");
+        appArgs.add("--spring.jpa.defer-datasource-initialization=true");
+        // Banco vazio: os DROPs iniciais do ddl-auto=create falham sem consequência
+        appArgs.add("--logging.level.org.hibernate.tool.schema=ERROR");
+        appArgs.add("--logging.level.com.arca.backend.service.SyntheticDataService=INFO");
+        try (ConfigurableApplicationContext app = start(appArgs)) {
+            long started = System.currentTimeMillis();
+            ResourceDatabasePopulator indexes = new ResourceDatabasePopulator();
+            for (String script : INDEX_SCRIPTS) {
+                indexes.addScript(new ClassPathResource(script));
+            }
+            indexes.execute(app.getBean(DataSource.class));
+            System.out.printf("Índices criados em %.1fs%n", (System.currentTimeMillis() - started) / 1000.0);
+        }
+    }
+
+    private static List<String> applicationArgs(EmbeddedDatabase database, LoadTestOptions options) {
+        List<String> appArgs = new ArrayList<>();
+        appArgs.add("--spring.datasource.url=" + database.jdbcUrl());
+        appArgs.add("--spring.datasource.username=root");
+        appArgs.add("--spring.datasource.password=");
+        appArgs.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MariaDBDialect");
+        appArgs.add("--spring.threads.virtual.enabled=" + options.getBoolean("virtual-threads", false));
+        appArgs.add("--logging.level.root=WARN");
+        return appArgs;
+    }
+
+    private static ConfigurableApplicationContext start(List<String> appArgs) {
+        return new SpringApplicationBuilder(ArcaBackendApplication.class)
+                .logStartupInfo(false)
+                .run(appArgs.toArray(new String[0]));
+    }
+
+    private static void runLoad(String baseUrl, LoadTestOptions options) throws Exception {
+        LoadDriver driver = new LoadDriver(baseUrl, options);
+        driver.prepare(options.get("email", "root@arca.com"), options.get("password", "123456"));
+        System.out.println("Executando carga contra " + baseUrl);
+        List<LoadDriver.EndpointStats> stats = driver.run();
+        driver.printReport(stats, new PrintWriter(System.out));
+        String report = options.get("report", null);
+        if (report != null) {
+            driver.writeCsv(stats, Path.of(report));
+            System.out.println("Relatório CSV em " + report);
+        }
+    }
+}
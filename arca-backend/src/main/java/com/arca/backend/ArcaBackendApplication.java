@@ -2,8 +2,10 @@ package com.arca.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ArcaBackendApplication {
     public static void main(String[] args) {
         SpringApplication.run(ArcaBackendApplication.class, args);
@@ -0,0 +1,63 @@
+package com.arca.backend.config;
+
+import com.arca.backend.event.ContentType;
+import com.arca.backend.service.ContentVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GET condicional para as listagens de conteúdo: responde 304 a If-None-Match/If-Modified-Since
+ * com a versão da coleção, antes de executar a consulta e a serialização do controller.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    // Prefixo da URL -> tipos cujos dados aparecem na resposta
+    private static final Map<String, Set<ContentType>> RESOURCES = new LinkedHashMap<>();
+
+    static {
+        RESOURCES.put("/api/documents", ContentVersionService.DOCUMENTS);
+        RESOURCES.put("/api/videos", ContentVersionService.VIDEOS);
+        RESOURCES.put("/api/journals", ContentVersionService.JOURNALS);
+        RESOURCES.put("/api/articles", ContentVersionService.ARTICLES);
+        RESOURCES.put("/api/public/videos", ContentVersionService.PUBLIC_VIDEOS);
+        RESOURCES.put("/api/public/journals", ContentVersionService.JOURNALS);
+        RESOURCES.put("/api/public/articles", ContentVersionService.ARTICLES);
+        RESOURCES.put("/api/public/repositories", ContentVersionService.REPOSITORIES);
+    }
+
+    private final ContentVersionService contentVersionService;
+
+    public ConditionalGetInterceptor(ContentVersionService contentVersionService) {
+        this.contentVersionService = contentVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, Set<ContentType>> resource : RESOURCES.entrySet()) {
+            String prefix = resource.getKey();
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                String name = prefix.substring("/api/".length()).replace('/', '-');
+                ContentVersionService.Version version = contentVersionService.version(name, resource.getValue());
+                // Pode guardar a resposta, mas deve revalidar sempre (substitui o no-store do Spring Security)
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+                return !new ServletWebRequest(request, response)
+                        .checkNotModified("W/\"" + version.getEtag() + "\"", version.getLastModified());
+            }
+        }
+        return true;
+    }
+}
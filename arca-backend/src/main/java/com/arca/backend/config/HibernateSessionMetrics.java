@@ -0,0 +1,53 @@
+package com.arca.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.SessionEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Conta os comandos SQL executados por cada sessão do Hibernate (métrica hibernate.session.statements,
+ * com a rota da requisição na tag uri). Com open-in-view a sessão dura a requisição inteira, então o
+ * valor é o número de comandos por requisição; fora de uma requisição a tag é "none".
+ *
+ * O Hibernate cria uma instância por sessão (hibernate.session.events.auto); o registro é o global do
+ * Micrometer, ao qual o Spring Boot associa o registro da aplicação.
+ */
+public class HibernateSessionMetrics implements SessionEventListener {
+
+    static final String METRIC = "hibernate.session.statements";
+
+    private int statements;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        statements++;
+    }
+
+    @Override
+    public void end() {
+        if (statements == 0) {
+            return;
+        }
+        DistributionSummary.builder(METRIC)
+                .description("Comandos SQL executados por sessão do Hibernate")
+                .baseUnit("statements")
+                .tag("uri", currentRoute())
+                .register(Metrics.globalRegistry)
+                .record(statements);
+    }
+
+    private static String currentRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return pattern != null ? pattern.toString() : "UNKNOWN";
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,60 @@
+package com.arca.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de execução dos métodos públicos dos services (métrica arca.service, com as tags class,
+ * method e exception). Chamadas internas de um service para ele mesmo não passam pelo proxy e
+ * ficam contabilizadas no método que as chamou.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "metrics.services.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceMetricsAspect {
+
+    static final String METRIC = "arca.service";
+
+    private final MeterRegistry registry;
+
+    // Timer das execuções sem erro por método (evita montar as tags a cada chamada)
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("within(com.arca.backend.service..*) && @within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            timers.computeIfAbsent(method, m -> timer(m, "none")).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(method, e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(METRIC)
+                .description("Execução dos métodos dos services")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(registry);
+    }
+}
@@ -0,0 +1,91 @@
+package com.arca.backend.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Comandos JDBC executados durante uma requisição: quantidade, tempo total no banco e contagem por
+ * "impressão digital" do SQL (literais trocados por ?, listas IN colapsadas). Um mesmo SQL repetido
+ * muitas vezes na mesma requisição é o sinal de um N+1.
+ *
+ * Fica em uma ThreadLocal aberta por {@link SqlDiagnosticsFilter}; fora de uma requisição (tarefas
+ * agendadas, processamento assíncrono) nada é contado.
+ */
+public final class SqlDiagnostics {
+
+    private static final ThreadLocal<SqlDiagnostics> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_FINGERPRINT_LENGTH = 300;
+
+    private int statements;
+    private long nanos;
+    private long queryStart;
+    // Contagem pelo SQL original; a normalização só é feita quando a requisição é registrada no log
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    private SqlDiagnostics() {
+    }
+
+    static SqlDiagnostics begin() {
+        SqlDiagnostics diagnostics = new SqlDiagnostics();
+        CURRENT.set(diagnostics);
+        return diagnostics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Contagem da requisição em andamento na thread atual, ou null fora de uma requisição
+     */
+    public static SqlDiagnostics current() {
+        return CURRENT.get();
+    }
+
+    void queryStarted() {
+        queryStart = System.nanoTime();
+    }
+
+    void queryFinished(String sql) {
+        statements++;
+        nanos += System.nanoTime() - queryStart;
+        executions.merge(sql, 1, Integer::sum);
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTimeMillis() {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * Os SQLs mais executados na requisição, do mais repetido para o menos repetido
+     */
+    public List<Map.Entry<String, Integer>> topFingerprints(int limit) {
+        Map<String, Integer> fingerprints = new HashMap<>();
+        executions.forEach((sql, count) -> fingerprints.merge(fingerprint(sql), count, Integer::sum));
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(fingerprints.entrySet());
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return normalized.length() > MAX_FINGERPRINT_LENGTH
+                ? normalized.substring(0, MAX_FINGERPRINT_LENGTH) + "..."
+                : normalized;
+    }
+}
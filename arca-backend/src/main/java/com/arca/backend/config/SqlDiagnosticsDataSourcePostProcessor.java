@@ -0,0 +1,52 @@
+package com.arca.backend.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Envolve o DataSource em um proxy (datasource-proxy) que registra cada comando executado na
+ * {@link SqlDiagnostics} da requisição atual. Cobre o Hibernate e o JdbcTemplate; um lote
+ * (executeBatch) conta como um comando.
+ */
+@Component
+@ConditionalOnProperty(name = "sql.diagnostics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlDiagnosticsDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(new RequestStatementListener())
+                    .build();
+        }
+        return bean;
+    }
+
+    private static class RequestStatementListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlDiagnostics diagnostics = SqlDiagnostics.current();
+            if (diagnostics != null) {
+                diagnostics.queryStarted();
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlDiagnostics diagnostics = SqlDiagnostics.current();
+            if (diagnostics != null && !queryInfoList.isEmpty()) {
+                diagnostics.queryFinished(queryInfoList.get(0).getQuery());
+            }
+        }
+    }
+}
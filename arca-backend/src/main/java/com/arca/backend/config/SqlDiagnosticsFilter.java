@@ -0,0 +1,151 @@
+package com.arca.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Conta os comandos SQL e o tempo no banco de cada requisição (ver {@link SqlDiagnostics}).
+ *
+ * Requisições acima do limite (sql.diagnostics.statement-threshold, ou o orçamento da rota em
+ * sql.diagnostics.route-budgets) ou do tempo máximo no banco são registradas no log com os SQLs mais
+ * repetidos. Com sql.diagnostics.headers=true as respostas trazem X-SQL-Statements e X-SQL-Time-Ms;
+ * com sql.diagnostics.fail-over-budget=true a requisição acima do orçamento termina com
+ * IllegalStateException, que chega ao teste de integração (MockMvc); em um servidor a resposta já foi
+ * enviada e o erro só aparece no log.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "sql.diagnostics.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlDiagnosticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlDiagnosticsFilter.class);
+
+    private static final int LOGGED_FINGERPRINTS = 5;
+
+    private final boolean headers;
+    private final int statementThreshold;
+    private final long timeThresholdMs;
+    private final Map<String, Integer> routeBudgets;
+    private final boolean failOverBudget;
+
+    public SqlDiagnosticsFilter(@Value("${sql.diagnostics.headers:false}") boolean headers,
+                                @Value("${sql.diagnostics.statement-threshold:30}") int statementThreshold,
+                                @Value("${sql.diagnostics.time-threshold-ms:1000}") long timeThresholdMs,
+                                @Value("${sql.diagnostics.route-budgets:}") String routeBudgets,
+                                @Value("${sql.diagnostics.fail-over-budget:false}") boolean failOverBudget) {
+        this.headers = headers;
+        this.statementThreshold = statementThreshold;
+        this.timeThresholdMs = timeThresholdMs;
+        this.routeBudgets = parseRouteBudgets(routeBudgets);
+        this.failOverBudget = failOverBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlDiagnostics diagnostics = SqlDiagnostics.begin();
+        try {
+            if (headers) {
+                DiagnosticsHeadersResponse wrapped = new DiagnosticsHeadersResponse(response, diagnostics);
+                filterChain.doFilter(request, wrapped);
+                wrapped.writeHeaders();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            SqlDiagnostics.end();
+        }
+        checkBudget(request, diagnostics);
+    }
+
+    private void checkBudget(HttpServletRequest request, SqlDiagnostics diagnostics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : request.getRequestURI();
+        int budget = routeBudgets.getOrDefault(route, statementThreshold);
+        boolean overBudget = budget > 0 && diagnostics.getStatements() > budget;
+        boolean overTime = timeThresholdMs > 0 && diagnostics.getTimeMillis() > timeThresholdMs;
+        if (!overBudget && !overTime) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder()
+                .append(request.getMethod()).append(' ').append(route)
+                .append(" executed ").append(diagnostics.getStatements()).append(" SQL statements in ")
+                .append(diagnostics.getTimeMillis()).append(" ms (budget ").append(budget).append("); most executed:");
+        for (Map.Entry<String, Integer> entry : diagnostics.topFingerprints(LOGGED_FINGERPRINTS)) {
+            message.append("\n  ").append(entry.getValue()).append("x ").append(entry.getKey());
+        }
+        log.warn(message.toString());
+
+        if (overBudget && failOverBudget) {
+            throw new IllegalStateException(message.toString());
+        }
+    }
+
+    /**
+     * Rotas no formato padrão:limite separadas por vírgula (ex: /api/videos:10,/api/documents/{id}:5)
+     */
+    private static Map<String, Integer> parseRouteBudgets(String value) {
+        Map<String, Integer> budgets = new HashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid sql.diagnostics.route-budgets entry (expected route:budget): " + entry);
+            }
+            budgets.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        return budgets;
+    }
+
+    // Os headers precisam ser gravados antes do envio da resposta: contam os comandos executados até ali
+    private static class DiagnosticsHeadersResponse extends OnCommittedResponseWrapper {
+
+        private final SqlDiagnostics diagnostics;
+        private boolean written;
+
+        DiagnosticsHeadersResponse(HttpServletResponse response, SqlDiagnostics diagnostics) {
+            super(response);
+            this.diagnostics = diagnostics;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(diagnostics.getStatements()));
+            setHeader(TIME_HEADER, String.valueOf(diagnostics.getTimeMillis()));
+        }
+    }
+}
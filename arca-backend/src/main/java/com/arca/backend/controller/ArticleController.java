@@ -1,13 +1,20 @@
 package com.arca.backend.controller;
 
 import com.arca.backend.dto.ArticleDTO;
+import com.arca.backend.dto.ModerationRequestDTO;
+import com.arca.backend.dto.ModerationResultDTO;
 import com.arca.backend.dto.ArticleCreateDTO;
 import com.arca.backend.dto.ArticleUpdateDTO;
+import com.arca.backend.dto.ExportFilter;
+import com.arca.backend.service.ContentExportService;
 import com.arca.backend.service.ArticleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,12 +25,43 @@ public class ArticleController {
     @Autowired
     private ArticleService articleService;
 
+    @Autowired
+    private ContentExportService contentExportService;
+
     @GetMapping
-    public ResponseEntity<List<ArticleDTO>> getAllArticles() {
+    public ResponseEntity<List<ArticleDTO>> getAllArticles(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        if (CursorResponses.isPaged(after, limit)) {
+            try {
+                return CursorResponses.ok(articleService.findPage(after, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         List<ArticleDTO> articles = articleService.findAll();
         return ResponseEntity.ok(articles);
     }
 
+    /**
+     * Exportação completa em streaming (format=ndjson ou csv), com filtros opcionais por escola, repositório (da revista) e período
+     * (from/to no formato yyyy-MM-dd, inclusivos)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportArticles(
+            @RequestParam(defaultValue = ContentExportService.FORMAT_NDJSON) String format,
+            @RequestParam(required = false) Long schoolId,
+            @RequestParam(required = false) Long repositoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            ExportFilter filter = new ExportFilter(schoolId, repositoryId, null, from, to);
+            return ExportResponses.ok("articles", format, contentExportService.articles(filter, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ArticleDTO> getArticle(@PathVariable Long id) {
         try {
@@ -86,6 +124,30 @@ public class ArticleController {
         }
     }
 
+    /**
+     * Aprova vários artigos de uma vez ({"ids": [...]})
+     */
+    @PutMapping("/batch/approve")
+    public ResponseEntity<ModerationResultDTO> approveArticles(@RequestBody ModerationRequestDTO dto) {
+        try {
+            return ResponseEntity.ok(articleService.approveAll(dto.getIds()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Rejeita vários artigos de uma vez ({"ids": [...], "reason": "..."})
+     */
+    @PutMapping("/batch/reject")
+    public ResponseEntity<ModerationResultDTO> rejectArticles(@RequestBody ModerationRequestDTO dto) {
+        try {
+            return ResponseEntity.ok(articleService.rejectAll(dto.getIds(), dto.getReason()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}/approve")
     public ResponseEntity<ArticleDTO> approveArticle(@PathVariable Long id) {
         try {
@@ -1,6 +1,8 @@
 package com.arca.backend.controller;
 
 import com.arca.backend.service.PermissionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +16,8 @@ import java.util.Set;
 @RequestMapping("/api/auth")
 public class AuthPermissionController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthPermissionController.class);
+
     @Autowired
     private PermissionService permissionService;
 
@@ -35,12 +39,7 @@ public class AuthPermissionController {
         response.put("apiPermissions", apiPermissions);
         response.put("clientPermissions", clientPermissions);
         
-        // Debug info
-        System.out.println("=== DEBUG PERMISSIONS ===");
-        System.out.println("Username: " + username);
-        System.out.println("API Permissions: " + apiPermissions);
-        System.out.println("Client Permissions: " + clientPermissions);
-        System.out.println("========================");
+        log.debug("Permissions: username={}, api={}, client={}", username, apiPermissions, clientPermissions);
 
         return response;
     }
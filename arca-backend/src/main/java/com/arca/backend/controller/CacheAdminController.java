@@ -0,0 +1,51 @@
+package com.arca.backend.controller;
+
+import com.arca.backend.service.ContentVersionService;
+import com.arca.backend.service.EntityCacheService;
+import com.arca.backend.service.PermissionService;
+import com.arca.backend.service.PublicPayloadCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api/admin/cache")
+public class CacheAdminController {
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private PublicPayloadCacheService publicPayloadCacheService;
+
+    /**
+     * Acertos/erros do cache de segundo nível, no total e por região
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getStatistics() {
+        return ResponseEntity.ok(entityCacheService.getStatistics());
+    }
+
+    /**
+     * Esvazia os caches (ex: após alterar roles, escolas ou categorias direto no banco)
+     * e invalida as versões (ETag) e as respostas prontas das listagens
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> evictAll() {
+        entityCacheService.evictAll();
+        permissionService.evictAllRoles();
+        permissionService.invalidateRoleClaims();
+        contentVersionService.invalidateAll();
+        publicPayloadCacheService.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
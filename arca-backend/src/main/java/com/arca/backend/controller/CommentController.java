@@ -19,7 +19,16 @@ public class CommentController {
     private CommentService commentService;
 
     @GetMapping
-    public ResponseEntity<List<CommentDTO>> getAllComments() {
+    public ResponseEntity<List<CommentDTO>> getAllComments(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        if (CursorResponses.isPaged(after, limit)) {
+            try {
+                return CursorResponses.ok(commentService.findPage(after, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         List<CommentDTO> comments = commentService.findAll();
         return ResponseEntity.ok(comments);
     }
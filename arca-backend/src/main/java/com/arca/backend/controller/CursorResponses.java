@@ -0,0 +1,29 @@
+package com.arca.backend.controller;
+
+import com.arca.backend.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Resposta padrão das listagens paginadas por cursor: o corpo continua sendo a lista
+ * e o token da próxima página vai no header X-Next-Cursor (ausente na última página).
+ */
+final class CursorResponses {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorResponses() {
+    }
+
+    static boolean isPaged(String after, Integer limit) {
+        return after != null || limit != null;
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
+}
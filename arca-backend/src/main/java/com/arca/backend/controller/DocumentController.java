@@ -2,13 +2,30 @@ package com.arca.backend.controller;
 
 import com.arca.backend.dto.DocumentDTO;
 import com.arca.backend.dto.DocumentCreateDTO;
+import com.arca.backend.dto.DocumentImportResultDTO;
 import com.arca.backend.dto.DocumentUpdateDTO;
+import com.arca.backend.dto.ExportFilter;
+import com.arca.backend.security.CustomUserDetails;
+import com.arca.backend.service.ContentExportService;
+import com.arca.backend.service.DocumentImportService;
 import com.arca.backend.service.DocumentService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @CrossOrigin(origins = "*")
@@ -18,12 +35,47 @@ public class DocumentController {
     @Autowired
     private DocumentService documentService;
 
+    @Autowired
+    private ContentExportService contentExportService;
+
+    @Autowired
+    private DocumentImportService documentImportService;
+
     @GetMapping
-    public ResponseEntity<List<DocumentDTO>> getAllDocuments() {
+    public ResponseEntity<List<DocumentDTO>> getAllDocuments(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        if (CursorResponses.isPaged(after, limit)) {
+            try {
+                return CursorResponses.ok(documentService.findPage(after, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         List<DocumentDTO> documents = documentService.findAll();
         return ResponseEntity.ok(documents);
     }
 
+    /**
+     * Exportação completa em streaming (format=ndjson ou csv), com filtros opcionais por escola, repositório, categoria e período
+     * (from/to no formato yyyy-MM-dd, inclusivos)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDocuments(
+            @RequestParam(defaultValue = ContentExportService.FORMAT_NDJSON) String format,
+            @RequestParam(required = false) Long schoolId,
+            @RequestParam(required = false) Long repositoryId,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            ExportFilter filter = new ExportFilter(schoolId, repositoryId, categoryId, from, to);
+            return ExportResponses.ok("documents", format, contentExportService.documents(filter, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<DocumentDTO> getDocument(@PathVariable Long id) {
         try {
@@ -84,6 +136,39 @@ public class DocumentController {
         }
     }
 
+    /**
+     * Importação em lote (CSV ou NDJSON). O corpo é lido em streaming e a resposta traz o resultado de cada linha.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importCsv(HttpServletRequest request, Authentication authentication) {
+        return importDocuments(request, authentication, false);
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<?> importNdjson(HttpServletRequest request, Authentication authentication) {
+        return importDocuments(request, authentication, true);
+    }
+
+    private ResponseEntity<?> importDocuments(HttpServletRequest request, Authentication authentication, boolean ndjson) {
+        if (!(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset))) {
+            Long userId = userDetails.getUser().getId();
+            DocumentImportResultDTO result = ndjson
+                    ? documentImportService.importNdjson(reader, userId)
+                    : documentImportService.importCsv(reader, userId);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Falha ao ler o arquivo de importação"));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<DocumentDTO> updateDocument(@PathVariable Long id, @RequestBody DocumentUpdateDTO dto) {
         try {
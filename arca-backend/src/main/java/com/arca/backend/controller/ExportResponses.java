@@ -0,0 +1,30 @@
+package com.arca.backend.controller;
+
+import com.arca.backend.service.ContentExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Resposta padrão das exportações: o corpo é escrito em streaming como anexo NDJSON ou CSV
+ */
+final class ExportResponses {
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private ExportResponses() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> ok(String name, String format, ContentExportService.Export export) {
+        boolean csv = ContentExportService.FORMAT_CSV.equals(format);
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(name + "." + format).build().toString())
+                .body(export::writeTo);
+    }
+}
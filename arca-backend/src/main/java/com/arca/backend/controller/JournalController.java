@@ -19,7 +19,16 @@ public class JournalController {
     private JournalService journalService;
 
     @GetMapping
-    public ResponseEntity<List<JournalDTO>> getAllJournals() {
+    public ResponseEntity<List<JournalDTO>> getAllJournals(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        if (CursorResponses.isPaged(after, limit)) {
+            try {
+                return CursorResponses.ok(journalService.findPage(after, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         List<JournalDTO> journals = journalService.findAll();
         return ResponseEntity.ok(journals);
     }
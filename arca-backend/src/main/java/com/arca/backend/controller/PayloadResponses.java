@@ -0,0 +1,52 @@
+package com.arca.backend.controller;
+
+import com.arca.backend.service.PublicPayloadCacheService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Resposta com corpo JSON já serializado: envia a versão gzip quando o cliente aceita
+ */
+final class PayloadResponses {
+
+    private PayloadResponses() {
+    }
+
+    static ResponseEntity<byte[]> ok(PublicPayloadCacheService.Payload payload, String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (payload.getGzip() != null && acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(payload.getGzip().length)
+                    .body(payload.getGzip());
+        }
+        return builder.contentLength(payload.getJson().length).body(payload.getJson());
+    }
+
+    // "gzip" ou "*" sem q=0 (ex: "gzip, deflate, br" ou "gzip;q=1.0")
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+                    refused = true;
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
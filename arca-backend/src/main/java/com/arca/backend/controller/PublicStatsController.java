@@ -4,26 +4,30 @@ import com.arca.backend.dto.ArticleDTO;
 import com.arca.backend.dto.JournalDTO;
 import com.arca.backend.dto.VideoDTO;
 import com.arca.backend.dto.RepositoryDTO;
-import com.arca.backend.service.SchoolService;
 import com.arca.backend.service.RepositoryService;
 import com.arca.backend.service.JournalService;
 import com.arca.backend.service.ArticleService;
 import com.arca.backend.service.VideoService;
+import com.arca.backend.service.PublicStatsService;
+import com.arca.backend.service.ContentVersionService;
+import com.arca.backend.service.PublicPayloadCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @CrossOrigin(origins = "*")
 @RequestMapping("/api/public")
 public class PublicStatsController {
-    
-    @Autowired
-    private SchoolService schoolService;
+
+    private static final long STATS_MAX_AGE_SECONDS = 30;
     
     @Autowired
     private JournalService journalService;
@@ -37,79 +41,108 @@ public class PublicStatsController {
     @Autowired
     private RepositoryService repositoryService;
 
+    @Autowired
+    private PublicStatsService publicStatsService;
+
+    @Autowired
+    private PublicPayloadCacheService publicPayloadCacheService;
+
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Long>> getStats() {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("schools", schoolService.count());
-        stats.put("journals", journalService.count());
-        stats.put("articles", articleService.count());
-        stats.put("videos", videoService.count());
-        stats.put("repositories", repositoryService.count());
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<Map<String, Long>> getStats(WebRequest request) {
+        PublicStatsService.Snapshot snapshot = publicStatsService.getSnapshot();
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
+        return cachedStats(snapshot, snapshot.getCounts());
     }
 
     @GetMapping("/stats/schools")
-    public ResponseEntity<Map<String, Long>> getSchoolsCount() {
-        Map<String, Long> response = new HashMap<>();
-        response.put("count", schoolService.count());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<Map<String, Long>> getSchoolsCount(WebRequest request) {
+        return countResponse("schools", request);
     }
 
     @GetMapping("/stats/journals")
-    public ResponseEntity<Map<String, Long>> getJournalsCount() {
-        Map<String, Long> response = new HashMap<>();
-        response.put("count", journalService.count());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<Map<String, Long>> getJournalsCount(WebRequest request) {
+        return countResponse("journals", request);
     }
 
     @GetMapping("/stats/articles")
-    public ResponseEntity<Map<String, Long>> getArticlesCount() {
-        Map<String, Long> response = new HashMap<>();
-        response.put("count", articleService.count());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<Map<String, Long>> getArticlesCount(WebRequest request) {
+        return countResponse("articles", request);
     }
 
     @GetMapping("/stats/videos")
-    public ResponseEntity<Map<String, Long>> getVideosCount() {
-        Map<String, Long> response = new HashMap<>();
-        response.put("count", videoService.count());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<Map<String, Long>> getVideosCount(WebRequest request) {
+        return countResponse("videos", request);
     }
 
     @GetMapping("/stats/repositories")
-    public ResponseEntity<Map<String, Long>> getRepositoriesCount() {
+    public ResponseEntity<Map<String, Long>> getRepositoriesCount(WebRequest request) {
+        return countResponse("repositories", request);
+    }
+
+    private ResponseEntity<Map<String, Long>> countResponse(String key, WebRequest request) {
+        PublicStatsService.Snapshot snapshot = publicStatsService.getSnapshot();
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return null;
+        }
         Map<String, Long> response = new HashMap<>();
-        response.put("count", repositoryService.count());
-        return ResponseEntity.ok(response);
+        response.put("count", snapshot.getCounts().getOrDefault(key, 0L));
+        return cachedStats(snapshot, response);
     }
 
+    private ResponseEntity<Map<String, Long>> cachedStats(PublicStatsService.Snapshot snapshot, Map<String, Long> body) {
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.maxAge(STATS_MAX_AGE_SECONDS, TimeUnit.SECONDS).cachePublic())
+                .body(body);
+    }
+
+    // Listagens públicas servidas do cache de respostas serializadas (PublicPayloadCacheService)
     @GetMapping("/videos")
-    public ResponseEntity<List<VideoDTO>> getPublicVideos() {
-        List<VideoDTO> videos = videoService.findByStatus("APPROVED");
-        return ResponseEntity.ok(videos);
+    public ResponseEntity<byte[]> getPublicVideos(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return PayloadResponses.ok(publicPayloadCacheService.get("public-videos", null,
+                ContentVersionService.PUBLIC_VIDEOS, () -> videoService.findByStatus("APPROVED")), acceptEncoding);
     }
 
     @GetMapping("/journals")
-    public ResponseEntity<List<JournalDTO>> getPublicJournals() {
-        List<JournalDTO> journals = journalService.findByStatus("OPEN");
-        return ResponseEntity.ok(journals);
+    public ResponseEntity<byte[]> getPublicJournals(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return PayloadResponses.ok(publicPayloadCacheService.get("public-journals", null,
+                ContentVersionService.JOURNALS, () -> journalService.findByStatus("OPEN")), acceptEncoding);
     }
 
     @GetMapping("/articles")
-    public ResponseEntity<List<ArticleDTO>> getPublicArticles() {
-        List<ArticleDTO> articles = articleService.findApprovedArticlesInOpenJournals();
-        return ResponseEntity.ok(articles);
+    public ResponseEntity<?> getPublicArticles(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (CursorResponses.isPaged(after, limit)) {
+            try {
+                return CursorResponses.ok(articleService.findApprovedArticlesInOpenJournals(after, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        return PayloadResponses.ok(publicPayloadCacheService.get("public-articles", null,
+                ContentVersionService.ARTICLES, () -> articleService.findApprovedArticlesInOpenJournals()),
+                acceptEncoding);
     }
 
     @GetMapping("/repositories")
-    public ResponseEntity<List<RepositoryDTO>> getPublicRepositories(@RequestParam(required = false) String type) {
-        List<RepositoryDTO> repositories;
-        if (type != null && !type.isEmpty()) {
-            repositories = repositoryService.findByType(type);
-        } else {
-            repositories = repositoryService.findAll();
+    public ResponseEntity<byte[]> getPublicRepositories(
+            @RequestParam(required = false) String type,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean byType = type != null && !type.isEmpty();
+        if (byType && !RepositoryService.KNOWN_TYPES.contains(type)) {
+            // Endpoint anônimo: valores livres de type não ocupam entradas no cache
+            return PayloadResponses.ok(publicPayloadCacheService.load("public-repositories",
+                    ContentVersionService.REPOSITORIES, () -> repositoryService.findByType(type)), acceptEncoding);
         }
-        return ResponseEntity.ok(repositories);
+        return PayloadResponses.ok(publicPayloadCacheService.get("public-repositories", byType ? "type=" + type : null,
+                ContentVersionService.REPOSITORIES,
+                () -> byType ? repositoryService.findByType(type) : repositoryService.findAll()), acceptEncoding);
     }
 
     @GetMapping("/journals/{id}")
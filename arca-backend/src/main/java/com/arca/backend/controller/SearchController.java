@@ -0,0 +1,147 @@
+package com.arca.backend.controller;
+
+import com.arca.backend.dto.SearchResultDTO;
+import com.arca.backend.event.ContentType;
+import com.arca.backend.security.CustomUserDetails;
+import com.arca.backend.service.FacetIndexService;
+import com.arca.backend.service.PermissionService;
+import com.arca.backend.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/api")
+public class SearchController {
+
+    // URL da API que o usuário precisa acessar para ver cada tipo na busca e nas facetas
+    private static final Map<ContentType, String> TYPE_URLS = Map.of(
+        ContentType.DOCUMENT, "/api/documents",
+        ContentType.VIDEO, "/api/videos",
+        ContentType.ARTICLE, "/api/articles",
+        ContentType.JOURNAL, "/api/journals"
+    );
+
+    private static final Set<ContentType> TEXT_SEARCH_TYPES =
+        EnumSet.of(ContentType.DOCUMENT, ContentType.VIDEO, ContentType.ARTICLE);
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private FacetIndexService facetIndexService;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    /**
+     * Busca em todos os conteúdos que o usuário pode acessar.
+     * Ex: GET /api/search?q=ata+reunião&types=DOCUMENT,ARTICLE&limit=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<SearchResultDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        try {
+            Set<ContentType> requested = parseTypes(types);
+            requested.removeIf(type -> !canAccess(authentication, TYPE_URLS.get(type)));
+            return CursorResponses.ok(searchService.search(q, requested, false, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Busca pública: vídeos aprovados e artigos aprovados em revistas abertas
+     */
+    @GetMapping("/public/search")
+    public ResponseEntity<List<SearchResultDTO>> publicSearch(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            Set<ContentType> requested = parseTypes(types);
+            requested.remove(ContentType.DOCUMENT);
+            return CursorResponses.ok(searchService.search(q, requested, true, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Contagem por faceta (escola, categoria, repositório, status) a partir do índice em memória.
+     * Ex: GET /api/search/facets?type=DOCUMENT&dims=category&school=3 (documentos por categoria da escola 3)
+     */
+    @GetMapping("/search/facets")
+    public ResponseEntity<Map<String, Map<String, Integer>>> facets(
+            @RequestParam String type,
+            @RequestParam(required = false) List<String> dims,
+            @RequestParam Map<String, String> params,
+            Authentication authentication) {
+        ContentType contentType;
+        try {
+            contentType = ContentType.valueOf(type.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!TYPE_URLS.containsKey(contentType)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!canAccess(authentication, TYPE_URLS.get(contentType))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        List<String> requestedDims = dims == null || dims.isEmpty() ? FacetIndexService.DIMENSIONS : dims;
+        if (!FacetIndexService.DIMENSIONS.containsAll(requestedDims)) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Demais parâmetros com nome de faceta filtram os registros (drill-down)
+        Map<String, String> filters = new LinkedHashMap<>();
+        for (String dim : FacetIndexService.DIMENSIONS) {
+            if (params.containsKey(dim)) {
+                filters.put(dim, params.get(dim));
+            }
+        }
+
+        try {
+            return ResponseEntity.ok(facetIndexService.count(contentType, requestedDims, filters));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    private static Set<ContentType> parseTypes(List<String> types) {
+        if (types == null || types.isEmpty()) {
+            return EnumSet.copyOf(TEXT_SEARCH_TYPES);
+        }
+        Set<ContentType> parsed = EnumSet.noneOf(ContentType.class);
+        for (String type : types) {
+            ContentType contentType = ContentType.valueOf(type.trim().toUpperCase());
+            if (!TEXT_SEARCH_TYPES.contains(contentType)) {
+                throw new IllegalArgumentException("Tipo não pesquisável: " + type);
+            }
+            parsed.add(contentType);
+        }
+        return parsed;
+    }
+
+    private boolean canAccess(Authentication authentication, String url) {
+        if (authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return permissionService.hasApiPermission(userDetails.getRoleIds(), url);
+        }
+        return permissionService.hasApiPermission(authentication.getName(), url);
+    }
+}
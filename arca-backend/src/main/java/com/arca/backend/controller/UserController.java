@@ -1,22 +1,23 @@
 package com.arca.backend.controller;
 
+import com.arca.backend.dto.UserBatchItemDTO;
 import com.arca.backend.dto.UserCreateDTO;
 import com.arca.backend.model.Address;
 import com.arca.backend.model.Contact;
-import com.arca.backend.model.Role;
 import com.arca.backend.model.School;
 import com.arca.backend.model.User;
 import com.arca.backend.service.AddressService;
+import com.arca.backend.service.UserBatchService;
 import com.arca.backend.service.ContactService;
 import com.arca.backend.service.RoleService;
 import com.arca.backend.service.UserService;
 import com.arca.backend.repository.SchoolRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Set;
 
 @RestController
 @CrossOrigin(origins = "*")
@@ -34,6 +35,8 @@ public class UserController {
     private SchoolRepository schoolRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private UserBatchService userBatchService;
 
     @PostMapping
     public User createUser(@RequestBody UserCreateDTO dto) {
@@ -59,19 +62,24 @@ public class UserController {
 
         // Adiciona roles se vierem
         if (dto.getRoleIds() != null && !dto.getRoleIds().isEmpty()) {
-            Set<Role> roles = new java.util.HashSet<>();
-            for (Long roleId : dto.getRoleIds()) {
-                roleService.findAll().stream()
-                    .filter(r -> r.getId().equals(roleId))
-                    .findFirst()
-                    .ifPresent(roles::add);
-            }
-            user.setRoles(roles);
+            user.setRoles(roleService.findAllById(dto.getRoleIds()));
         }
 
         return userService.save(user);
     }
 
+    /**
+     * Cria ou atualiza vários usuários em uma única transação (itens com id são atualizados)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<User>> saveUsers(@RequestBody List<UserBatchItemDTO> dtos) {
+        try {
+            return ResponseEntity.ok(userBatchService.saveAll(dtos));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     @PatchMapping("/{id}")
     public User updateUser(@PathVariable Long id, @RequestBody UserCreateDTO dto) {
@@ -118,22 +126,24 @@ public class UserController {
 
         // Atualiza roles
         if (dto.getRoleIds() != null && !dto.getRoleIds().isEmpty()) {
-            Set<Role> roles = new java.util.HashSet<>();
-            for (Long roleId : dto.getRoleIds()) {
-                roleService.findAll().stream()
-                    .filter(r -> r.getId().equals(roleId))
-                    .findFirst()
-                    .ifPresent(roles::add);
-            }
-            existingUser.setRoles(roles);
+            existingUser.setRoles(roleService.findAllById(dto.getRoleIds()));
         }
 
         return userService.save(existingUser);
     }
 
     @GetMapping
-    public List<User> getAllUsers() {
-        return userService.findAll();
+    public ResponseEntity<List<User>> getAllUsers(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        if (CursorResponses.isPaged(after, limit)) {
+            try {
+                return CursorResponses.ok(userService.findPage(after, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        return ResponseEntity.ok(userService.findAll());
     }
 
     @DeleteMapping("/{id}")
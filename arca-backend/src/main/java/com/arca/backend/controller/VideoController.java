@@ -1,13 +1,20 @@
 package com.arca.backend.controller;
 
 import com.arca.backend.dto.VideoDTO;
+import com.arca.backend.dto.ModerationRequestDTO;
+import com.arca.backend.dto.ModerationResultDTO;
 import com.arca.backend.dto.VideoCreateDTO;
 import com.arca.backend.dto.VideoUpdateDTO;
+import com.arca.backend.dto.ExportFilter;
+import com.arca.backend.service.ContentExportService;
 import com.arca.backend.service.VideoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,12 +25,43 @@ public class VideoController {
     @Autowired
     private VideoService videoService;
 
+    @Autowired
+    private ContentExportService contentExportService;
+
     @GetMapping
-    public ResponseEntity<List<VideoDTO>> getAllVideos() {
+    public ResponseEntity<List<VideoDTO>> getAllVideos(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        if (CursorResponses.isPaged(after, limit)) {
+            try {
+                return CursorResponses.ok(videoService.findPage(after, limit));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         List<VideoDTO> videos = videoService.findAll();
         return ResponseEntity.ok(videos);
     }
 
+    /**
+     * Exportação completa em streaming (format=ndjson ou csv), com filtros opcionais por escola, repositório e período
+     * (from/to no formato yyyy-MM-dd, inclusivos)
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportVideos(
+            @RequestParam(defaultValue = ContentExportService.FORMAT_NDJSON) String format,
+            @RequestParam(required = false) Long schoolId,
+            @RequestParam(required = false) Long repositoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            ExportFilter filter = new ExportFilter(schoolId, repositoryId, null, from, to);
+            return ExportResponses.ok("videos", format, contentExportService.videos(filter, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<VideoDTO> getVideo(@PathVariable Long id) {
         try {
@@ -94,6 +132,30 @@ public class VideoController {
         }
     }
 
+    /**
+     * Aprova vários vídeos de uma vez ({"ids": [...]})
+     */
+    @PutMapping("/batch/approve")
+    public ResponseEntity<ModerationResultDTO> approveVideos(@RequestBody ModerationRequestDTO dto) {
+        try {
+            return ResponseEntity.ok(videoService.approveAll(dto.getIds()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Rejeita vários vídeos de uma vez ({"ids": [...]})
+     */
+    @PutMapping("/batch/reject")
+    public ResponseEntity<ModerationResultDTO> rejectVideos(@RequestBody ModerationRequestDTO dto) {
+        try {
+            return ResponseEntity.ok(videoService.rejectAll(dto.getIds()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}/approve")
     public ResponseEntity<VideoDTO> approveVideo(@PathVariable Long id) {
         try {
@@ -0,0 +1,65 @@
+package com.arca.backend.dto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Relatório da importação em lote de documentos, com o resultado de cada linha
+ */
+public class DocumentImportResultDTO {
+    private int total;
+    private int created;
+    private int failed;
+    private List<DocumentImportRowDTO> rows = new ArrayList<>();
+
+    public DocumentImportResultDTO() {}
+
+    public void addCreated(long line, Long id) {
+        rows.add(new DocumentImportRowDTO(line, id, null));
+        total++;
+        created++;
+    }
+
+    public void addFailed(long line, String error) {
+        rows.add(new DocumentImportRowDTO(line, null, error));
+        total++;
+        failed++;
+    }
+
+    public void sortRows() {
+        rows.sort(Comparator.comparingLong(DocumentImportRowDTO::getLine));
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<DocumentImportRowDTO> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<DocumentImportRowDTO> rows) {
+        this.rows = rows;
+    }
+}
@@ -0,0 +1,42 @@
+package com.arca.backend.dto;
+
+/**
+ * Resultado de uma linha da importação: id do documento criado ou a mensagem de erro
+ */
+public class DocumentImportRowDTO {
+    private long line;
+    private Long id;
+    private String error;
+
+    public DocumentImportRowDTO() {}
+
+    public DocumentImportRowDTO(long line, Long id, String error) {
+        this.line = line;
+        this.id = id;
+        this.error = error;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
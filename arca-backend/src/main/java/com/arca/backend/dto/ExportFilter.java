@@ -0,0 +1,47 @@
+package com.arca.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Filtros opcionais das exportações. O período é por data de criação, com as duas datas inclusivas.
+ */
+public class ExportFilter {
+    private final Long schoolId;
+    private final Long repositoryId;
+    private final Long categoryId;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    public ExportFilter(Long schoolId, Long repositoryId, Long categoryId, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Período inválido: 'from' é posterior a 'to'");
+        }
+        this.schoolId = schoolId;
+        this.repositoryId = repositoryId;
+        this.categoryId = categoryId;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Long getSchoolId() {
+        return schoolId;
+    }
+
+    public Long getRepositoryId() {
+        return repositoryId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public LocalDateTime getFromTime() {
+        return from != null ? from.atStartOfDay() : null;
+    }
+
+    // Limite exclusivo: início do dia seguinte a 'to'
+    public LocalDateTime getToTime() {
+        return to != null ? to.plusDays(1).atStartOfDay() : null;
+    }
+}
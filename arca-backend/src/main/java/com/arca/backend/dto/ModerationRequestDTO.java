@@ -0,0 +1,17 @@
+package com.arca.backend.dto;
+
+import java.util.List;
+
+public class ModerationRequestDTO {
+    private List<Long> ids;
+    // Apenas na rejeição de artigos: vira um comentário em cada artigo
+    private String reason;
+
+    public ModerationRequestDTO() {}
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+}
@@ -0,0 +1,29 @@
+package com.arca.backend.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma moderação em lote: ids alterados e ids inexistentes
+ */
+public class ModerationResultDTO {
+    private String status;
+    private List<Long> updated;
+    private List<Long> notFound;
+
+    public ModerationResultDTO() {}
+
+    public ModerationResultDTO(String status, List<Long> updated, List<Long> notFound) {
+        this.status = status;
+        this.updated = updated;
+        this.notFound = notFound;
+    }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public List<Long> getUpdated() { return updated; }
+    public void setUpdated(List<Long> updated) { this.updated = updated; }
+
+    public List<Long> getNotFound() { return notFound; }
+    public void setNotFound(List<Long> notFound) { this.notFound = notFound; }
+}
@@ -0,0 +1,54 @@
+package com.arca.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de uma página na paginação por cursor (keyset), formada por (created_at, id).
+ * É trafegada como um token opaco em Base64.
+ */
+public class PageCursor {
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public PageCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = (createdAt != null ? createdAt.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o token recebido no parâmetro "after"; retorna null se não houver cursor
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            String createdAt = raw.substring(0, separator);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new PageCursor(createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt), id);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
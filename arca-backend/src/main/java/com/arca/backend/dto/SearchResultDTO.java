@@ -0,0 +1,87 @@
+package com.arca.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado da busca textual. titleHighlight e snippet trazem o texto já escapado para HTML,
+ * com os termos encontrados envolvidos em <mark>.
+ */
+public class SearchResultDTO {
+    private String type;
+    private Long id;
+    private String title;
+    private String titleHighlight;
+    private String snippet;
+    private Double score;
+    private LocalDateTime createdAt;
+
+    public SearchResultDTO() {}
+
+    public SearchResultDTO(String type, Long id, String title, String titleHighlight, String snippet,
+                           Double score, LocalDateTime createdAt) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.titleHighlight = titleHighlight;
+        this.snippet = snippet;
+        this.score = score;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getTitleHighlight() {
+        return titleHighlight;
+    }
+
+    public void setTitleHighlight(String titleHighlight) {
+        this.titleHighlight = titleHighlight;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
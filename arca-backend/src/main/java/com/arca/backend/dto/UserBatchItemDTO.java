@@ -0,0 +1,12 @@
+package com.arca.backend.dto;
+
+/**
+ * Item do cadastro em lote de usuários: sem id cria um novo usuário, com id atualiza o existente
+ */
+public class UserBatchItemDTO extends UserCreateDTO {
+    private Long id;
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+}
@@ -0,0 +1,36 @@
+package com.arca.backend.event;
+
+/**
+ * Evento publicado pelos services sempre que um conteúdo é criado, alterado ou removido.
+ * Permite que contadores, caches e índices reajam às mudanças sem acoplar os services a eles.
+ */
+public class ContentChangedEvent {
+
+    public enum Action {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final ContentType type;
+    private final Long id;
+    private final Action action;
+
+    public ContentChangedEvent(ContentType type, Long id, Action action) {
+        this.type = type;
+        this.id = id;
+        this.action = action;
+    }
+
+    public ContentType getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+}
@@ -0,0 +1,28 @@
+package com.arca.backend.event;
+
+import java.util.List;
+
+/**
+ * Evento publicado por gravações em lote (importações, comentários da moderação em lote),
+ * uma vez por bloco gravado.
+ * Substitui um ContentChangedEvent CREATED por registro, para que os listeners
+ * possam atualizar contadores e índices de uma só vez.
+ */
+public class ContentImportedEvent {
+
+    private final ContentType type;
+    private final List<Long> ids;
+
+    public ContentImportedEvent(ContentType type, List<Long> ids) {
+        this.type = type;
+        this.ids = List.copyOf(ids);
+    }
+
+    public ContentType getType() {
+        return type;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+}
@@ -0,0 +1,33 @@
+package com.arca.backend.event;
+
+import java.util.List;
+
+/**
+ * Evento publicado quando artigos ou vídeos são aprovados ou rejeitados (um ou vários de uma vez).
+ * Substitui o ContentChangedEvent UPDATED da moderação: versões e caches reagem na hora e as
+ * tarefas mais caras rodam em segundo plano no ModerationPipelineService.
+ */
+public class ContentModeratedEvent {
+
+    private final ContentType type;
+    private final List<Long> ids;
+    private final String status;
+
+    public ContentModeratedEvent(ContentType type, List<Long> ids, String status) {
+        this.type = type;
+        this.ids = List.copyOf(ids);
+        this.status = status;
+    }
+
+    public ContentType getType() {
+        return type;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
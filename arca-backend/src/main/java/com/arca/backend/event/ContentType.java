@@ -0,0 +1,17 @@
+package com.arca.backend.event;
+
+/**
+ * Tipos de conteúdo do sistema (usados em {@link ContentChangedEvent} e na busca).
+ * USER entra nos eventos porque o nome do autor aparece nas listagens de conteúdo.
+ */
+public enum ContentType {
+    SCHOOL,
+    REPOSITORY,
+    CATEGORY,
+    JOURNAL,
+    ARTICLE,
+    VIDEO,
+    DOCUMENT,
+    COMMENT,
+    USER
+}
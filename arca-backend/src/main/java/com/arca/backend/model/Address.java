@@ -1,9 +1,13 @@
 package com.arca.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "addresses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Address {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
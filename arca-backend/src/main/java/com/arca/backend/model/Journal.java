@@ -1,7 +1,9 @@
 package com.arca.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "journals")
@@ -34,6 +36,10 @@ public class Journal {
     @Column(nullable = false, length = 50)
     private String status = "OPEN";
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public Journal() {}
 
     public Journal(Long id, String name, Repository repository, School school, User user, 
@@ -112,4 +118,12 @@ public class Journal {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -1,16 +1,117 @@
 package com.arca.backend.repository;
 
+import com.arca.backend.dto.ArticleDTO;
 import com.arca.backend.model.Article;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
+
+    // Artigos aprovados em revistas abertas, filtrados no banco e projetados direto para ArticleDTO
+    String PUBLIC_DTO_SELECT = "SELECT new com.arca.backend.dto.ArticleDTO("
+            + "a.id, j.id, a.authors, a.title, a.url, u.id, u.name, a.status, cm.id, a.createdAt) "
+            + "FROM Article a JOIN a.journal j JOIN a.user u LEFT JOIN a.comment cm "
+            + "WHERE a.status = 'APPROVED' AND j.status = 'OPEN' ";
+
     List<Article> findByJournalId(Long journalId);
     List<Article> findByUserId(Long userId);
     List<Article> findByStatus(String status);
     List<Article> findByJournalIdAndStatus(Long journalId, String status);
     int countByJournalId(Long journalId);
+
+    @Query(PUBLIC_DTO_SELECT + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArticleDTO> findApprovedInOpenJournals();
+
+    @Query(PUBLIC_DTO_SELECT + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArticleDTO> findApprovedInOpenJournalsPage(Pageable pageable);
+
+    @Query(PUBLIC_DTO_SELECT + "AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) "
+            + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<ArticleDTO> findApprovedInOpenJournalsPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id, Pageable pageable);
+
+    // Paginação por cursor (keyset) em (created_at, id), do mais recente para o mais antigo
+    @Query("SELECT a FROM Article a JOIN FETCH a.journal JOIN FETCH a.user LEFT JOIN FETCH a.comment "
+            + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Article> findPage(Pageable pageable);
+
+    @Query("SELECT a FROM Article a JOIN FETCH a.journal JOIN FETCH a.user LEFT JOIN FETCH a.comment "
+            + "WHERE a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id) "
+            + "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Article> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Busca FULLTEXT em título e autores (query já no formato BOOLEAN MODE), ordenada por relevância
+    @Query(value = "SELECT a.id AS id, a.title AS title, a.authors AS text, "
+            + "MATCH(a.title, a.authors) AGAINST(:query IN BOOLEAN MODE) AS score, a.created_at AS createdAt "
+            + "FROM articles a "
+            + "WHERE MATCH(a.title, a.authors) AGAINST(:query IN BOOLEAN MODE) "
+            + "ORDER BY score DESC, a.id DESC LIMIT :limit", nativeQuery = true)
+    List<SearchRow> search(@Param("query") String query, @Param("limit") int limit);
+
+    @Query(value = "SELECT a.id AS id, a.title AS title, a.authors AS text, "
+            + "MATCH(a.title, a.authors) AGAINST(:query IN BOOLEAN MODE) AS score, a.created_at AS createdAt "
+            + "FROM articles a JOIN journals j ON j.id = a.journal_id "
+            + "WHERE MATCH(a.title, a.authors) AGAINST(:query IN BOOLEAN MODE) "
+            + "AND a.status = 'APPROVED' AND j.status = 'OPEN' "
+            + "ORDER BY score DESC, a.id DESC LIMIT :limit", nativeQuery = true)
+    List<SearchRow> searchApprovedInOpenJournals(@Param("query") String query, @Param("limit") int limit);
+
+    // Valida as referências de um novo artigo em um único SELECT: status da revista,
+    // nome do autor e existência do comentário (valores nulos indicam registro inexistente)
+    @Query(value = "SELECT (SELECT j.status FROM journals j WHERE j.id = :journalId) AS journalStatus, "
+            + "(SELECT u.name FROM users u WHERE u.id = :userId) AS userName, "
+            + "(SELECT c.id FROM comments c WHERE c.id = :commentId) AS commentId", nativeQuery = true)
+    ReferenceCheck findReferenceCheck(@Param("journalId") Long journalId, @Param("userId") Long userId,
+                                      @Param("commentId") Long commentId);
+
+    interface ReferenceCheck {
+        String getJournalStatus();
+
+        String getUserName();
+
+        Long getCommentId();
+    }
+
+    // Exportação: lida em streaming (fetch size) na ordem dos ids; escola e repositório vêm da revista
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new com.arca.backend.dto.ArticleDTO("
+            + "a.id, j.id, a.authors, a.title, a.url, u.id, u.name, a.status, cm.id, a.createdAt) "
+            + "FROM Article a JOIN a.journal j JOIN a.user u LEFT JOIN a.comment cm "
+            + "WHERE (:schoolId IS NULL OR j.school.id = :schoolId) "
+            + "AND (:repositoryId IS NULL OR j.repository.id = :repositoryId) "
+            + "AND (:from IS NULL OR a.createdAt >= :from) AND (:to IS NULL OR a.createdAt < :to) "
+            + "ORDER BY a.id")
+    Stream<ArticleDTO> streamForExport(@Param("schoolId") Long schoolId, @Param("repositoryId") Long repositoryId,
+                                       @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Moderação em lote: ids existentes e alteração de status com um único UPDATE ... WHERE id IN (...)
+    @Query("SELECT a.id FROM Article a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // UPDATE em JPQL não passa pelo @UpdateTimestamp: updated_at é atualizado na própria consulta
+    @Modifying
+    @Query("UPDATE Article a SET a.status = :status, a.updatedAt = CURRENT_TIMESTAMP WHERE a.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    // Rejeição em lote com motivo: autor de cada artigo, sem carregar as associações
+    @Query("SELECT a.id AS id, a.user.id AS userId FROM Article a WHERE a.id IN :ids")
+    List<ArticleAuthor> findAuthors(@Param("ids") Collection<Long> ids);
+
+    interface ArticleAuthor {
+        Long getId();
+
+        Long getUserId();
+    }
 }
@@ -1,12 +1,59 @@
 package com.arca.backend.repository;
 
 import com.arca.backend.model.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByUserId(Long userId);
+
+    // Paginação por cursor (keyset) em (created_at, id), do mais recente para o mais antigo
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findPage(Pageable pageable);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user "
+            + "WHERE c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id) "
+            + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Percorre a cadeia next_comment_id a partir de um comentário em uma única consulta recursiva,
+     * já com o nome do autor. O caminho de ids visitados interrompe ciclos e maxDepth limita o tamanho.
+     */
+    @Query(value = "WITH RECURSIVE chain (id, user_id, comment, next_comment_id, created_at, depth, path) AS ("
+            + " SELECT c.id, c.user_id, c.comment, c.next_comment_id, c.created_at, 1,"
+            + "  CAST(CONCAT(',', c.id, ',') AS CHAR(8000))"
+            + " FROM comments c WHERE c.id = :commentId"
+            + " UNION ALL"
+            + " SELECT n.id, n.user_id, n.comment, n.next_comment_id, n.created_at, ch.depth + 1,"
+            + "  CONCAT(ch.path, n.id, ',')"
+            + " FROM chain ch JOIN comments n ON n.id = ch.next_comment_id"
+            + " WHERE ch.depth < :maxDepth AND LOCATE(CONCAT(',', n.id, ','), ch.path) = 0"
+            + ") "
+            + "SELECT ch.id AS id, ch.user_id AS userId, u.name AS userName, ch.comment AS comment,"
+            + " ch.next_comment_id AS nextCommentId, ch.created_at AS createdAt"
+            + " FROM chain ch JOIN users u ON u.id = ch.user_id"
+            + " ORDER BY ch.depth", nativeQuery = true)
+    List<CommentChainRow> findChain(@Param("commentId") Long commentId, @Param("maxDepth") int maxDepth);
+
+    interface CommentChainRow {
+        Long getId();
+
+        Long getUserId();
+
+        String getUserName();
+
+        String getComment();
+
+        Long getNextCommentId();
+
+        LocalDateTime getCreatedAt();
+    }
 }
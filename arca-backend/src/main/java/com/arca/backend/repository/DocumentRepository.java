@@ -1,13 +1,26 @@
 package com.arca.backend.repository;
 
+import com.arca.backend.dto.DocumentDTO;
 import com.arca.backend.model.Document;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DocumentRepository extends JpaRepository<Document, Long> {
+
+    // Projeção direta para DocumentDTO com um único SELECT (evita N+1 nas associações)
+    String DTO_SELECT = "SELECT new com.arca.backend.dto.DocumentDTO("
+            + "d.id, u.id, u.name, d.title, d.description, d.link, c.id, c.name, "
+            + "s.id, s.name, r.id, r.name, d.createdAt) "
+            + "FROM Document d JOIN d.user u JOIN d.category c LEFT JOIN d.school s JOIN d.repository r ";
     
     List<Document> findBySchoolId(Long schoolId);
     
@@ -22,4 +35,74 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     
     @Query("SELECT d FROM Document d WHERE d.repository.id = :repositoryId AND d.category.id = :categoryId")
     List<Document> findByRepositoryIdAndCategoryId(@Param("repositoryId") Long repositoryId, @Param("categoryId") Long categoryId);
+
+    @Query(DTO_SELECT + "WHERE d.id = :id")
+    Optional<DocumentDTO> findDTOById(@Param("id") Long id);
+
+    @Query(DTO_SELECT)
+    List<DocumentDTO> findAllDTO();
+
+    @Query(DTO_SELECT + "WHERE s.id = :schoolId")
+    List<DocumentDTO> findDTOBySchoolId(@Param("schoolId") Long schoolId);
+
+    @Query(DTO_SELECT + "WHERE u.id = :userId")
+    List<DocumentDTO> findDTOByUserId(@Param("userId") Long userId);
+
+    @Query(DTO_SELECT + "WHERE r.id = :repositoryId")
+    List<DocumentDTO> findDTOByRepositoryId(@Param("repositoryId") Long repositoryId);
+
+    @Query(DTO_SELECT + "WHERE c.id = :categoryId")
+    List<DocumentDTO> findDTOByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(DTO_SELECT + "WHERE s.id = :schoolId AND c.id = :categoryId")
+    List<DocumentDTO> findDTOBySchoolIdAndCategoryId(@Param("schoolId") Long schoolId, @Param("categoryId") Long categoryId);
+
+    @Query(DTO_SELECT + "WHERE r.id = :repositoryId AND c.id = :categoryId")
+    List<DocumentDTO> findDTOByRepositoryIdAndCategoryId(@Param("repositoryId") Long repositoryId, @Param("categoryId") Long categoryId);
+
+    // Paginação por cursor (keyset) em (created_at, id), do mais recente para o mais antigo
+    @Query(DTO_SELECT + "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentDTO> findPageDTO(Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.id < :id) "
+            + "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentDTO> findPageDTOAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Busca FULLTEXT em título e descrição (query já no formato BOOLEAN MODE), ordenada por relevância
+    @Query(value = "SELECT d.id AS id, d.title AS title, d.description AS text, "
+            + "MATCH(d.title, d.description) AGAINST(:query IN BOOLEAN MODE) AS score, d.created_at AS createdAt "
+            + "FROM documents d "
+            + "WHERE MATCH(d.title, d.description) AGAINST(:query IN BOOLEAN MODE) "
+            + "ORDER BY score DESC, d.id DESC LIMIT :limit", nativeQuery = true)
+    List<SearchRow> search(@Param("query") String query, @Param("limit") int limit);
+
+    // Valida as referências de um novo documento e traz os nomes do DTO em um único SELECT;
+    // um nome nulo indica que o registro referenciado não existe
+    @Query(value = "SELECT (SELECT u.name FROM users u WHERE u.id = :userId) AS userName, "
+            + "(SELECT c.name FROM categories c WHERE c.id = :categoryId) AS categoryName, "
+            + "(SELECT r.name FROM repositories r WHERE r.id = :repositoryId) AS repositoryName, "
+            + "(SELECT s.name FROM schools s WHERE s.id = :schoolId) AS schoolName", nativeQuery = true)
+    ReferenceNames findReferenceNames(@Param("userId") Long userId, @Param("categoryId") Long categoryId,
+                                      @Param("repositoryId") Long repositoryId, @Param("schoolId") Long schoolId);
+
+    interface ReferenceNames {
+        String getUserName();
+
+        String getCategoryName();
+
+        String getRepositoryName();
+
+        String getSchoolName();
+    }
+
+    // Exportação: lida em streaming (fetch size) na ordem dos ids, com filtros opcionais
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(DTO_SELECT + "WHERE (:schoolId IS NULL OR s.id = :schoolId) "
+            + "AND (:repositoryId IS NULL OR r.id = :repositoryId) "
+            + "AND (:categoryId IS NULL OR c.id = :categoryId) "
+            + "AND (:from IS NULL OR d.createdAt >= :from) AND (:to IS NULL OR d.createdAt < :to) "
+            + "ORDER BY d.id")
+    Stream<DocumentDTO> streamForExport(@Param("schoolId") Long schoolId, @Param("repositoryId") Long repositoryId,
+                                        @Param("categoryId") Long categoryId, @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
 }
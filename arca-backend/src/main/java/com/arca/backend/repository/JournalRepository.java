@@ -1,7 +1,10 @@
 package com.arca.backend.repository;
 
 import com.arca.backend.model.Journal;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +16,28 @@ public interface JournalRepository extends JpaRepository<Journal, Long> {
     List<Journal> findByRepositoryId(Long repositoryId);
     List<Journal> findByStatus(String status);
     List<Journal> findBySchoolIdAndStatus(Long schoolId, String status);
+
+    // Paginação por cursor (keyset) em id, já que journals não possui created_at
+    @Query("SELECT j FROM Journal j JOIN FETCH j.repository JOIN FETCH j.school JOIN FETCH j.user ORDER BY j.id DESC")
+    List<Journal> findPage(Pageable pageable);
+
+    @Query("SELECT j FROM Journal j JOIN FETCH j.repository JOIN FETCH j.school JOIN FETCH j.user "
+            + "WHERE j.id < :id ORDER BY j.id DESC")
+    List<Journal> findPageAfter(@Param("id") Long id, Pageable pageable);
+
+    // Valida as referências de uma nova revista e traz os nomes do DTO em um único SELECT;
+    // um nome nulo indica que o registro referenciado não existe
+    @Query(value = "SELECT (SELECT r.name FROM repositories r WHERE r.id = :repositoryId) AS repositoryName, "
+            + "(SELECT s.name FROM schools s WHERE s.id = :schoolId) AS schoolName, "
+            + "(SELECT u.name FROM users u WHERE u.id = :userId) AS userName", nativeQuery = true)
+    ReferenceNames findReferenceNames(@Param("repositoryId") Long repositoryId, @Param("schoolId") Long schoolId,
+                                      @Param("userId") Long userId);
+
+    interface ReferenceNames {
+        String getRepositoryName();
+
+        String getSchoolName();
+
+        String getUserName();
+    }
 }
@@ -1,10 +1,14 @@
 package com.arca.backend.repository;
 
 import com.arca.backend.model.Repository;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface RepositoryRepository extends JpaRepository<Repository, Long> {
+    // Resultado no cache de consultas do Hibernate (invalidado a cada escrita em repositories)
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Repository> findByType(String type);
 }
\ No newline at end of file
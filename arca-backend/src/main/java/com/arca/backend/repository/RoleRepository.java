@@ -2,10 +2,18 @@ package com.arca.backend.repository;
 
 import com.arca.backend.model.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
     boolean existsByName(String name);
     Optional<Role> findByName(String name);
+
+    @Query("SELECT r FROM Role r LEFT JOIN FETCH r.permissions WHERE r.id = :id")
+    Optional<Role> findByIdWithPermissions(@Param("id") Long id);
+
+    @Query("SELECT r.name FROM Role r WHERE r.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
 }
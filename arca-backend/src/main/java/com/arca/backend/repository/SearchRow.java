@@ -0,0 +1,18 @@
+package com.arca.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha retornada pelas buscas FULLTEXT (MATCH ... AGAINST) dos repositórios de conteúdo
+ */
+public interface SearchRow {
+    Long getId();
+
+    String getTitle();
+
+    String getText();
+
+    Double getScore();
+
+    LocalDateTime getCreatedAt();
+}
@@ -1,11 +1,26 @@
 package com.arca.backend.repository;
 
 import com.arca.backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByContactEmail(String email);
     boolean existsByContactEmail(String email);
+
+    // Paginação por cursor (keyset) em (created_at, id), do mais recente para o mais antigo
+    @Query("SELECT u FROM User u JOIN FETCH u.contact JOIN FETCH u.address LEFT JOIN FETCH u.school "
+            + "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPage(Pageable pageable);
+
+    @Query("SELECT u FROM User u JOIN FETCH u.contact JOIN FETCH u.address LEFT JOIN FETCH u.school "
+            + "WHERE u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id) "
+            + "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
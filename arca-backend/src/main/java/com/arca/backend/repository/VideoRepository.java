@@ -1,13 +1,26 @@
 package com.arca.backend.repository;
 
+import com.arca.backend.dto.VideoDTO;
 import com.arca.backend.model.Video;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface VideoRepository extends JpaRepository<Video, Long> {
+
+    // Projeção direta no DTO (uma única consulta, sem carregar as associações)
+    String DTO_SELECT = "SELECT new com.arca.backend.dto.VideoDTO(v.id, v.title, v.description, v.url, v.urlThumbnail, "
+            + "v.status, r.id, r.name, u.id, u.name, s.id, s.name, cm.id, v.uploadedAt) "
+            + "FROM Video v JOIN v.repository r JOIN v.user u JOIN v.school s LEFT JOIN v.comment cm ";
     
     List<Video> findBySchoolId(Long schoolId);
     
@@ -16,7 +29,71 @@ public interface VideoRepository extends JpaRepository<Video, Long> {
     List<Video> findByRepositoryId(Long repositoryId);
     
     List<Video> findByStatus(String status);
+
+    @Query(DTO_SELECT + "WHERE v.status = :status")
+    List<VideoDTO> findDTOByStatus(@Param("status") String status);
+
+    @Query("SELECT v.id FROM Video v WHERE v.comment.id = :commentId")
+    List<Long> findIdsByCommentId(@Param("commentId") Long commentId);
     
     @Query("SELECT v FROM Video v WHERE v.school.id = :schoolId AND v.status = :status")
     List<Video> findBySchoolIdAndStatus(@Param("schoolId") Long schoolId, @Param("status") String status);
-}
\ No newline at end of file
+
+    // Paginação por cursor (keyset) em (uploaded_at, id), do mais recente para o mais antigo
+    @Query("SELECT v FROM Video v JOIN FETCH v.repository JOIN FETCH v.user JOIN FETCH v.school LEFT JOIN FETCH v.comment "
+            + "ORDER BY v.uploadedAt DESC, v.id DESC")
+    List<Video> findPage(Pageable pageable);
+
+    @Query("SELECT v FROM Video v JOIN FETCH v.repository JOIN FETCH v.user JOIN FETCH v.school LEFT JOIN FETCH v.comment "
+            + "WHERE v.uploadedAt < :uploadedAt OR (v.uploadedAt = :uploadedAt AND v.id < :id) "
+            + "ORDER BY v.uploadedAt DESC, v.id DESC")
+    List<Video> findPageAfter(@Param("uploadedAt") LocalDateTime uploadedAt, @Param("id") Long id, Pageable pageable);
+
+    // Busca FULLTEXT em título e descrição (query já no formato BOOLEAN MODE), ordenada por relevância
+    @Query(value = "SELECT v.id AS id, v.title AS title, v.description AS text, "
+            + "MATCH(v.title, v.description) AGAINST(:query IN BOOLEAN MODE) AS score, v.uploaded_at AS createdAt "
+            + "FROM videos v "
+            + "WHERE MATCH(v.title, v.description) AGAINST(:query IN BOOLEAN MODE) "
+            + "ORDER BY score DESC, v.id DESC LIMIT :limit", nativeQuery = true)
+    List<SearchRow> search(@Param("query") String query, @Param("limit") int limit);
+
+    @Query(value = "SELECT v.id AS id, v.title AS title, v.description AS text, "
+            + "MATCH(v.title, v.description) AGAINST(:query IN BOOLEAN MODE) AS score, v.uploaded_at AS createdAt "
+            + "FROM videos v "
+            + "WHERE MATCH(v.title, v.description) AGAINST(:query IN BOOLEAN MODE) AND v.status = 'APPROVED' "
+            + "ORDER BY score DESC, v.id DESC LIMIT :limit", nativeQuery = true)
+    List<SearchRow> searchApproved(@Param("query") String query, @Param("limit") int limit);
+
+    // Valida as referências de um novo vídeo e traz os nomes do DTO em um único SELECT;
+    // um nome nulo indica que o registro referenciado não existe
+    @Query(value = "SELECT (SELECT r.name FROM repositories r WHERE r.id = :repositoryId) AS repositoryName, "
+            + "(SELECT u.name FROM users u WHERE u.id = :userId) AS userName, "
+            + "(SELECT s.name FROM schools s WHERE s.id = :schoolId) AS schoolName", nativeQuery = true)
+    ReferenceNames findReferenceNames(@Param("repositoryId") Long repositoryId, @Param("userId") Long userId,
+                                      @Param("schoolId") Long schoolId);
+
+    interface ReferenceNames {
+        String getRepositoryName();
+
+        String getUserName();
+
+        String getSchoolName();
+    }
+
+    // Exportação: lida em streaming (fetch size) na ordem dos ids, com filtros opcionais
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query(DTO_SELECT + "WHERE (:schoolId IS NULL OR s.id = :schoolId) AND (:repositoryId IS NULL OR r.id = :repositoryId) "
+            + "AND (:from IS NULL OR v.uploadedAt >= :from) AND (:to IS NULL OR v.uploadedAt < :to) "
+            + "ORDER BY v.id")
+    Stream<VideoDTO> streamForExport(@Param("schoolId") Long schoolId, @Param("repositoryId") Long repositoryId,
+                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Moderação em lote: ids existentes e alteração de status com um único UPDATE ... WHERE id IN (...)
+    @Query("SELECT v.id FROM Video v WHERE v.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // UPDATE em JPQL não passa pelo @UpdateTimestamp: updated_at é atualizado na própria consulta
+    @Modifying
+    @Query("UPDATE Video v SET v.status = :status, v.updatedAt = CURRENT_TIMESTAMP WHERE v.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+}
@@ -0,0 +1,97 @@
+package com.arca.backend.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Matcher imutável com os padrões de url_api de uma role já compilados.
+ * Mantém a mesma semântica da comparação original: correspondência exata,
+ * prefixo para padrões terminados em /** e regex para wildcards no meio.
+ */
+public final class ApiPermissionMatcher {
+
+    public static final ApiPermissionMatcher EMPTY = new ApiPermissionMatcher(Set.of(), new String[0], new Pattern[0]);
+
+    private final Set<String> exactUrls;
+    private final String[] prefixes;
+    private final Pattern[] patterns;
+
+    private ApiPermissionMatcher(Set<String> exactUrls, String[] prefixes, Pattern[] patterns) {
+        this.exactUrls = exactUrls;
+        this.prefixes = prefixes;
+        this.patterns = patterns;
+    }
+
+    /**
+     * Compila os valores de url_api (cada um pode conter várias URLs separadas por vírgula)
+     */
+    public static ApiPermissionMatcher compile(Collection<String> urlApiValues) {
+        Set<String> exact = new HashSet<>();
+        Set<String> prefixSet = new HashSet<>();
+        List<Pattern> regexes = new ArrayList<>();
+
+        for (String value : urlApiValues) {
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+            for (String url : value.split(",")) {
+                String pattern = url.trim();
+                if (pattern.isEmpty()) {
+                    continue;
+                }
+                exact.add(pattern);
+                if (pattern.endsWith("/**")) {
+                    prefixSet.add(pattern.substring(0, pattern.length() - 3));
+                } else if (pattern.contains("*")) {
+                    String regexPattern = pattern
+                        .replace("**", ".*")
+                        .replace("*", "[^/]*");
+                    regexes.add(Pattern.compile(regexPattern));
+                }
+            }
+        }
+
+        if (exact.isEmpty()) {
+            return EMPTY;
+        }
+
+        // Remove prefixos cobertos por outros mais curtos (ex: /api cobre /api/users)
+        List<String> reduced = new ArrayList<>();
+        prefixSet.stream().sorted().forEach(prefix -> {
+            if (reduced.isEmpty() || !prefix.startsWith(reduced.get(reduced.size() - 1))) {
+                reduced.add(prefix);
+            }
+        });
+
+        return new ApiPermissionMatcher(
+            Set.copyOf(exact),
+            reduced.toArray(new String[0]),
+            regexes.toArray(new Pattern[0])
+        );
+    }
+
+    public boolean matches(String requestUri) {
+        if (exactUrls.contains(requestUri)) {
+            return true;
+        }
+        for (String prefix : prefixes) {
+            if (requestUri.startsWith(prefix)) {
+                return true;
+            }
+        }
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(requestUri).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return exactUrls.isEmpty();
+    }
+}
@@ -1,11 +1,13 @@
 package com.arca.backend.security;
 
+import com.arca.backend.model.Role;
 import com.arca.backend.model.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class CustomUserDetails implements UserDetails {
@@ -64,4 +66,13 @@ public class CustomUserDetails implements UserDetails {
     public String getName() {
         return user.getName();
     }
+
+    public Set<Long> getRoleIds() {
+        if (user.getRoles() == null) {
+            return Set.of();
+        }
+        return user.getRoles().stream()
+                .map(Role::getId)
+                .collect(Collectors.toSet());
+    }
 }
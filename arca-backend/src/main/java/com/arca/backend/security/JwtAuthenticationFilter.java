@@ -1,9 +1,13 @@
 package com.arca.backend.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,6 +20,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,6 +29,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
 
+    // Quando ativo, o usuário é montado a partir dos claims do token sem consultar o banco
+    @Value("${jwt.stateless:true}")
+    private boolean statelessAuthentication;
+
     // Rotas públicas que não precisam de autenticação JWT
     private static final List<String> PUBLIC_ROUTES = Arrays.asList(
         "/api/auth/login",
@@ -30,9 +40,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         "/api/public/"
     );
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    // Latência da autenticação pelo token (arca.security.jwt), por origem do usuário autenticado
+    private final Timer statelessTimer;
+    private final Timer databaseTimer;
+    private final Timer rejectedTimer;
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService, MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.statelessTimer = jwtTimer(meterRegistry, "stateless");
+        this.databaseTimer = jwtTimer(meterRegistry, "database");
+        this.rejectedTimer = jwtTimer(meterRegistry, "rejected");
     }
 
     @Override
@@ -59,31 +77,58 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        
+        long start = System.nanoTime();
+        Timer timer = rejectedTimer;
+
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // O token é verificado uma única vez por requisição
+            Claims claims = jwtService.parseToken(jwt);
+            userEmail = claims.getSubject();
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                Optional<CustomUserDetails> tokenUser = statelessAuthentication
+                        ? jwtService.extractCurrentUserDetails(claims)
+                        : Optional.empty();
+
+                if (tokenUser.isPresent()) {
+                    authenticate(tokenUser.get(), request);
+                    timer = statelessTimer;
+                } else {
+                    // Token sem claims ou com versão de permissões desatualizada: valida no banco
+                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+
+                    if (jwtService.isTokenValid(claims, userDetails)) {
+                        authenticate(userDetails, request);
+                        timer = databaseTimer;
+                    }
                 }
             }
         } catch (Exception e) {
             // Log error silently, continue without authentication
         }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(UserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
     private boolean isPublicRoute(String requestURI) {
         return PUBLIC_ROUTES.stream().anyMatch(requestURI::startsWith);
     }
+
+    private static Timer jwtTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("arca.security.jwt")
+                .description("Autenticação da requisição pelo token JWT")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
 }
@@ -1,6 +1,12 @@
 package com.arca.backend.security;
 
+import com.arca.backend.model.Contact;
+import com.arca.backend.model.Role;
+import com.arca.backend.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -9,31 +15,109 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    // Claims usados na autenticação stateless
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_NAME = "name";
+    static final String CLAIM_ROLE_IDS = "roleIds";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_PERMISSION_VERSION = "pv";
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
+    private final PermissionVersionTracker permissionVersionTracker;
+
+    // Chave e parser são thread-safe e criados uma única vez
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+
+    // Tokens já verificados, indexados pelo próprio token (LRU limitado; nulo quando o cache está desativado)
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") long jwtExpiration,
+            @Value("${jwt.verified-cache.ttl:30000}") long verifiedCacheTtl,
+            @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheMaxSize,
+            PermissionVersionTracker permissionVersionTracker
+    ) {
+        this.jwtExpiration = jwtExpiration;
+        this.verifiedTokens = verifiedCacheTtl > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedCacheMaxSize)
+                        .expireAfterWrite(Duration.ofMillis(verifiedCacheTtl))
+                        .build()
+                : null;
+        this.permissionVersionTracker = permissionVersionTracker;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+    }
+
+    /**
+     * Verifica a assinatura e a expiração do token uma única vez e devolve os claims (imutáveis).
+     * Tokens verificados recentemente são servidos do cache sem novo parse.
+     */
+    public Claims parseToken(String token) {
+        if (verifiedTokens == null) {
+            return parser.parseSignedClaims(token).getPayload();
+        }
+
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        // O TTL do cache é fixo; um token que expira antes disso deixa de ser servido na sua expiração
+        if (cached != null && cached.expiresAt > now) {
+            return cached.claims;
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        verifiedTokens.put(token, new VerifiedToken(claims, expiresAt));
+        return claims;
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof CustomUserDetails customUserDetails) {
+            User user = customUserDetails.getUser();
+            List<Long> roleIds = new ArrayList<>();
+            List<String> roleNames = new ArrayList<>();
+            if (user.getRoles() != null) {
+                for (Role role : user.getRoles()) {
+                    roleIds.add(role.getId());
+                    roleNames.add(role.getName());
+                }
+            }
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_NAME, user.getName());
+            claims.put(CLAIM_ROLE_IDS, roleIds);
+            claims.put(CLAIM_ROLES, roleNames);
+            claims.put(CLAIM_PERMISSION_VERSION, permissionVersionTracker.currentVersion());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -46,33 +130,76 @@ public class JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), Jwts.SIG.HS256)
+                .signWith(signInKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parseToken(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername())) && !isTokenExpired(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Optional<CustomUserDetails> extractCurrentUserDetails(String token) {
+        return extractCurrentUserDetails(parseToken(token));
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Monta o usuário autenticado apenas a partir dos claims do token, sem consultar o banco.
+     * Retorna vazio se o token não tiver os claims necessários ou se a versão de permissões
+     * estiver desatualizada; nesse caso o chamador deve validar o usuário no banco.
+     */
+    public Optional<CustomUserDetails> extractCurrentUserDetails(Claims claims) {
+        if (claims.getExpiration() == null || isTokenExpired(claims)) {
+            return Optional.empty();
+        }
+
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        Number version = claims.get(CLAIM_PERMISSION_VERSION, Number.class);
+        List<?> roleIds = claims.get(CLAIM_ROLE_IDS, List.class);
+        List<?> roleNames = claims.get(CLAIM_ROLES, List.class);
+        if (userId == null || version == null || roleIds == null || roleNames == null
+                || roleIds.size() != roleNames.size()) {
+            return Optional.empty();
+        }
+        if (!permissionVersionTracker.isCurrent(userId.longValue(), version.longValue())) {
+            return Optional.empty();
+        }
+
+        Set<Role> roles = new HashSet<>();
+        for (int i = 0; i < roleIds.size(); i++) {
+            Role role = new Role();
+            role.setId(((Number) roleIds.get(i)).longValue());
+            role.setName(String.valueOf(roleNames.get(i)));
+            roles.add(role);
+        }
+
+        Contact contact = new Contact();
+        contact.setEmail(claims.getSubject());
+
+        User user = new User();
+        user.setId(userId.longValue());
+        user.setName(claims.get(CLAIM_NAME, String.class));
+        user.setContact(contact);
+        user.setActive(true);
+        user.setRoles(roles);
+        return Optional.of(new CustomUserDetails(user));
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static final class VerifiedToken {
+        private final Claims claims;
+        private final long expiresAt;
+
+        private VerifiedToken(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
     }
 }
@@ -1,22 +1,37 @@
 package com.arca.backend.security;
 
 import com.arca.backend.service.PermissionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 @Component
 public class PermissionBasedAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
 
+    // Executado em toda requisição: log em nível debug em vez de System.out, que escreve dentro de um
+    // bloco synchronized e prende a thread de plataforma de uma virtual thread durante a escrita
+    private static final Logger log = LoggerFactory.getLogger(PermissionBasedAuthorizationManager.class);
+
     private final PermissionService permissionService;
 
-    public PermissionBasedAuthorizationManager(PermissionService permissionService) {
+    // Latência da verificação de url_api por resultado (arca.security.permission)
+    private final Timer grantedTimer;
+    private final Timer deniedTimer;
+
+    public PermissionBasedAuthorizationManager(PermissionService permissionService, MeterRegistry meterRegistry) {
         this.permissionService = permissionService;
+        this.grantedTimer = permissionTimer(meterRegistry, "granted");
+        this.deniedTimer = permissionTimer(meterRegistry, "denied");
     }
 
     @Override
@@ -25,24 +40,34 @@ public class PermissionBasedAuthorizationManager implements AuthorizationManager
         
         // Se não está autenticado, nega acesso
         if (auth == null || !auth.isAuthenticated()) {
-            System.out.println("=== AUTHORIZATION DENIED: Not authenticated ===");
+            log.debug("Authorization denied: not authenticated");
             return new AuthorizationDecision(false);
         }
 
+        long start = System.nanoTime();
         HttpServletRequest request = context.getRequest();
         String requestUri = request.getRequestURI();
         String username = auth.getName();
 
         // Verifica se o usuário tem permissão para acessar esta URL
-        boolean hasPermission = permissionService.hasApiPermission(username, requestUri);
+        // (usa as roles já carregadas no principal, sem consultar o banco)
+        boolean hasPermission;
+        if (auth.getPrincipal() instanceof CustomUserDetails userDetails) {
+            hasPermission = permissionService.hasApiPermission(userDetails.getRoleIds(), requestUri);
+        } else {
+            hasPermission = permissionService.hasApiPermission(username, requestUri);
+        }
 
-        // Debug info
-        System.out.println("=== AUTHORIZATION CHECK ===");
-        System.out.println("Username: " + username);
-        System.out.println("Request URI: " + requestUri);
-        System.out.println("Has Permission: " + hasPermission);
-        System.out.println("==========================");
+        (hasPermission ? grantedTimer : deniedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("Authorization check: username={}, uri={}, hasPermission={}", username, requestUri, hasPermission);
 
         return new AuthorizationDecision(hasPermission);
     }
+
+    private static Timer permissionTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("arca.security.permission")
+                .description("Verificação das permissões de API do usuário")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,50 @@
+package com.arca.backend.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controla a versão das permissões embutida nos tokens JWT.
+ * Um token emitido antes de uma renomeação/remoção de role (global) ou de uma alteração do
+ * próprio usuário é considerado desatualizado e volta a ser validado no banco.
+ * Alterações nas URLs das permissões não entram aqui: são tratadas pelos matchers do PermissionService.
+ */
+@Component
+public class PermissionVersionTracker {
+
+    // Iniciado com o horário de boot para que tokens emitidos antes de um restart fiquem desatualizados
+    private final AtomicLong counter = new AtomicLong(System.currentTimeMillis());
+    private volatile long globalVersion = counter.get();
+    private final Map<Long, Long> userVersions = new ConcurrentHashMap<>();
+
+    public long currentVersion() {
+        return counter.get();
+    }
+
+    /**
+     * Chamado quando uma role é renomeada ou removida
+     */
+    public void markPermissionsChanged() {
+        globalVersion = counter.incrementAndGet();
+    }
+
+    /**
+     * Chamado quando os dados ou as roles de um usuário são alterados
+     */
+    public void markUserChanged(Long userId) {
+        if (userId != null) {
+            userVersions.put(userId, counter.incrementAndGet());
+        }
+    }
+
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        if (tokenVersion < globalVersion) {
+            return false;
+        }
+        Long userVersion = userVersions.get(userId);
+        return userVersion == null || tokenVersion >= userVersion;
+    }
+}
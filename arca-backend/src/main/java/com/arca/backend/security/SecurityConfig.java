@@ -1,5 +1,6 @@
 package com.arca.backend.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -49,12 +50,18 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Permitir requisições OPTIONS (CORS preflight)
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Conclusão de respostas assíncronas (exportações): a requisição original já foi autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Endpoints públicos (login e autenticação)
                         .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
+                        // Health check e métricas do Prometheus (servidos na porta de gerenciamento)
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         // Endpoints públicos de estatísticas
                         .requestMatchers("/api/public/**").permitAll()
                         // Endpoint de permissões (precisa estar autenticado)
                         .requestMatchers("/api/auth/permissions").authenticated()
+                        // Busca e facetas (cada tipo de conteúdo é filtrado pelas permissões do usuário)
+                        .requestMatchers("/api/search", "/api/search/facets").authenticated()
                         // Todos os outros endpoints da API usam verificação por permissões
                         .requestMatchers("/api/**").access(permissionBasedAuthorizationManager)
                         // Qualquer outra rota
@@ -77,7 +84,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(List.of("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "HEAD"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "X-Next-Cursor", "X-SQL-Statements", "X-SQL-Time-Ms"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
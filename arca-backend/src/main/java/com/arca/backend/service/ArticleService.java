@@ -3,18 +3,30 @@ package com.arca.backend.service;
 import com.arca.backend.dto.ArticleDTO;
 import com.arca.backend.dto.ArticleCreateDTO;
 import com.arca.backend.dto.ArticleUpdateDTO;
+import com.arca.backend.dto.CursorPage;
+import com.arca.backend.dto.PageCursor;
+import com.arca.backend.dto.ModerationResultDTO;
 import com.arca.backend.model.Article;
-import com.arca.backend.model.Journal;
-import com.arca.backend.model.User;
 import com.arca.backend.model.Comment;
 import com.arca.backend.repository.ArticleRepository;
 import com.arca.backend.repository.JournalRepository;
 import com.arca.backend.repository.UserRepository;
 import com.arca.backend.repository.CommentRepository;
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentImportedEvent;
+import com.arca.backend.event.ContentModeratedEvent;
+import com.arca.backend.event.ContentType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -22,6 +34,9 @@ import java.util.stream.Collectors;
 @Service
 public class ArticleService {
 
+    private static final String REJECT_WITH_COMMENT = "UPDATE articles SET status = 'REJECTED', comment_id = ?, "
+            + "updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
     @Autowired
     private ArticleRepository articleRepository;
 
@@ -34,34 +49,63 @@ public class ArticleService {
     @Autowired
     private CommentRepository commentRepository;
 
-    public ArticleDTO save(ArticleCreateDTO dto) {
-        Journal journal = journalRepository.findById(dto.getJournalId())
-                .orElseThrow(() -> new RuntimeException("Journal not found with id: " + dto.getJournalId()));
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
-        User user = userRepository.findById(dto.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + dto.getUserId()));
+    @Value("${moderation.batch.max-size:500}")
+    private int maxModerationBatch;
+
+    /**
+     * Valida revista, autor e comentário com uma única consulta e vincula as associações por referência
+     */
+    @Transactional
+    public ArticleDTO save(ArticleCreateDTO dto) {
+        ArticleRepository.ReferenceCheck check = articleRepository.findReferenceCheck(
+                dto.getJournalId(), dto.getUserId(), dto.getCommentId());
+        if (check.getJournalStatus() == null) {
+            throw new RuntimeException("Journal not found with id: " + dto.getJournalId());
+        }
+        if (check.getUserName() == null) {
+            throw new RuntimeException("User not found with id: " + dto.getUserId());
+        }
 
         // Verificar se a revista está aberta para submissões
-        if (!"OPEN".equals(journal.getStatus())) {
+        if (!"OPEN".equals(check.getJournalStatus())) {
             throw new RuntimeException("Journal is not open for submissions");
         }
 
         Article article = new Article();
-        article.setJournal(journal);
+        article.setJournal(journalRepository.getReferenceById(dto.getJournalId()));
         article.setAuthors(dto.getAuthors());
         article.setTitle(dto.getTitle());
         article.setUrl(dto.getUrl());
-        article.setUser(user);
+        article.setUser(userRepository.getReferenceById(dto.getUserId()));
         article.setStatus("PENDING"); // Status inicial sempre PENDING
         
         if (dto.getCommentId() != null) {
-            Comment comment = commentRepository.findById(dto.getCommentId())
-                    .orElseThrow(() -> new RuntimeException("Comment not found with id: " + dto.getCommentId()));
-            article.setComment(comment);
+            if (check.getCommentId() == null) {
+                throw new RuntimeException("Comment not found with id: " + dto.getCommentId());
+            }
+            article.setComment(commentRepository.getReferenceById(dto.getCommentId()));
         }
 
         Article saved = articleRepository.save(article);
-        return convertToDTO(saved);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.ARTICLE, saved.getId(), ContentChangedEvent.Action.CREATED));
+        return new ArticleDTO(
+                saved.getId(),
+                dto.getJournalId(),
+                saved.getAuthors(),
+                saved.getTitle(),
+                saved.getUrl(),
+                dto.getUserId(),
+                check.getUserName(),
+                saved.getStatus(),
+                dto.getCommentId(),
+                saved.getCreatedAt()
+        );
     }
 
     public ArticleDTO update(Long id, ArticleUpdateDTO dto) {
@@ -89,6 +133,7 @@ public class ArticleService {
         }
 
         Article updated = articleRepository.save(article);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.ARTICLE, updated.getId(), ContentChangedEvent.Action.UPDATED));
         return convertToDTO(updated);
     }
 
@@ -98,6 +143,20 @@ public class ArticleService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Listagem paginada por cursor (keyset), sem OFFSET
+     */
+    public CursorPage<ArticleDTO> findPage(String after, Integer limit) {
+        PageCursor cursor = PageCursor.decode(after);
+        int pageSize = CursorPage.normalizeLimit(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Article> rows = cursor == null
+                ? articleRepository.findPage(pageable)
+                : articleRepository.findPageAfter(cursor.getCreatedAt(), cursor.getId(), pageable);
+        return CursorPage.of(rows.stream().map(this::convertToDTO).collect(Collectors.toList()), pageSize,
+                dto -> new PageCursor(dto.getCreatedAt(), dto.getId()));
+    }
+
     public ArticleDTO findById(Long id) {
         Optional<Article> article = articleRepository.findById(id);
         if (article.isEmpty()) {
@@ -137,6 +196,7 @@ public class ArticleService {
     public boolean deleteById(Long id) {
         if (articleRepository.existsById(id)) {
             articleRepository.deleteById(id);
+            eventPublisher.publishEvent(new ContentChangedEvent(ContentType.ARTICLE, id, ContentChangedEvent.Action.DELETED));
             return true;
         }
         return false;
@@ -147,11 +207,20 @@ public class ArticleService {
     }
 
     public List<ArticleDTO> findApprovedArticlesInOpenJournals() {
-        return articleRepository.findAll().stream()
-                .filter(article -> "APPROVED".equals(article.getStatus()))
-                .filter(article -> "OPEN".equals(article.getJournal().getStatus()))
-                .map(this::convertToDTO)
-                .collect(java.util.stream.Collectors.toList());
+        return articleRepository.findApprovedInOpenJournals();
+    }
+
+    /**
+     * Artigos públicos paginados por cursor (keyset), filtrados no banco
+     */
+    public CursorPage<ArticleDTO> findApprovedArticlesInOpenJournals(String after, Integer limit) {
+        PageCursor cursor = PageCursor.decode(after);
+        int pageSize = CursorPage.normalizeLimit(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<ArticleDTO> rows = cursor == null
+                ? articleRepository.findApprovedInOpenJournalsPage(pageable)
+                : articleRepository.findApprovedInOpenJournalsPageAfter(cursor.getCreatedAt(), cursor.getId(), pageable);
+        return CursorPage.of(rows, pageSize, dto -> new PageCursor(dto.getCreatedAt(), dto.getId()));
     }
 
     public ArticleDTO approve(Long id) {
@@ -163,6 +232,7 @@ public class ArticleService {
         Article article = existing.get();
         article.setStatus("APPROVED");
         Article updated = articleRepository.save(article);
+        eventPublisher.publishEvent(new ContentModeratedEvent(ContentType.ARTICLE, List.of(updated.getId()), "APPROVED"));
         return convertToDTO(updated);
     }
 
@@ -181,13 +251,76 @@ public class ArticleService {
             comment.setComment(reason);
             comment.setUser(article.getUser());
             Comment savedComment = commentRepository.save(comment);
+            eventPublisher.publishEvent(new ContentChangedEvent(ContentType.COMMENT, savedComment.getId(), ContentChangedEvent.Action.CREATED));
             article.setComment(savedComment);
         }
         
         Article updated = articleRepository.save(article);
+        eventPublisher.publishEvent(new ContentModeratedEvent(ContentType.ARTICLE, List.of(updated.getId()), "REJECTED"));
         return convertToDTO(updated);
     }
 
+    /**
+     * Aprova vários artigos com um único UPDATE; ids inexistentes voltam em notFound
+     */
+    @Transactional
+    public ModerationResultDTO approveAll(List<Long> ids) {
+        List<Long> requested = ModerationBatches.normalize(ids, maxModerationBatch);
+        List<Long> existing = articleRepository.findExistingIds(requested);
+        updateStatus(existing, "APPROVED");
+        return ModerationBatches.result("APPROVED", requested, existing);
+    }
+
+    /**
+     * Rejeita vários artigos. Sem motivo é um único UPDATE; com motivo cada artigo recebe seu
+     * comentário (autor do artigo), com INSERTs e UPDATEs agrupados em batch.
+     */
+    @Transactional
+    public ModerationResultDTO rejectAll(List<Long> ids, String reason) {
+        List<Long> requested = ModerationBatches.normalize(ids, maxModerationBatch);
+        if (reason == null || reason.trim().isEmpty()) {
+            List<Long> existing = articleRepository.findExistingIds(requested);
+            updateStatus(existing, "REJECTED");
+            return ModerationBatches.result("REJECTED", requested, existing);
+        }
+
+        List<ArticleRepository.ArticleAuthor> authors = articleRepository.findAuthors(requested);
+        List<Comment> comments = new ArrayList<>(authors.size());
+        for (ArticleRepository.ArticleAuthor author : authors) {
+            Comment comment = new Comment();
+            comment.setComment(reason);
+            comment.setUser(userRepository.getReferenceById(author.getUserId()));
+            comments.add(comment);
+        }
+        // Os comentários precisam existir antes do UPDATE via JDBC que os referencia
+        commentRepository.saveAllAndFlush(comments);
+
+        List<Long> existing = new ArrayList<>(authors.size());
+        List<Long> commentIds = new ArrayList<>(comments.size());
+        List<Object[]> rows = new ArrayList<>(authors.size());
+        for (int i = 0; i < authors.size(); i++) {
+            Long articleId = authors.get(i).getId();
+            Long commentId = comments.get(i).getId();
+            existing.add(articleId);
+            commentIds.add(commentId);
+            rows.add(new Object[]{commentId, articleId});
+        }
+        if (!existing.isEmpty()) {
+            jdbcTemplate.batchUpdate(REJECT_WITH_COMMENT, rows);
+            eventPublisher.publishEvent(new ContentImportedEvent(ContentType.COMMENT, commentIds));
+            eventPublisher.publishEvent(new ContentModeratedEvent(ContentType.ARTICLE, existing, "REJECTED"));
+        }
+        return ModerationBatches.result("REJECTED", requested, existing);
+    }
+
+    private void updateStatus(List<Long> ids, String status) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        articleRepository.updateStatus(ids, status);
+        eventPublisher.publishEvent(new ContentModeratedEvent(ContentType.ARTICLE, ids, status));
+    }
+
     private ArticleDTO convertToDTO(Article article) {
         return new ArticleDTO(
                 article.getId(),
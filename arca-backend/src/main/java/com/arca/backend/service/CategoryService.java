@@ -3,7 +3,10 @@ package com.arca.backend.service;
 import com.arca.backend.model.Category;
 import com.arca.backend.dto.CategoryDTO;
 import com.arca.backend.repository.CategoryRepository;
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,6 +18,9 @@ public class CategoryService {
     
     @Autowired
     private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public CategoryDTO save(CategoryDTO categoryDTO) {
         Category category = new Category();
@@ -22,6 +28,7 @@ public class CategoryService {
         category.setDescription(categoryDTO.getDescription());
         
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.CATEGORY, savedCategory.getId(), ContentChangedEvent.Action.CREATED));
         return convertToDTO(savedCategory);
     }
 
@@ -36,6 +43,7 @@ public class CategoryService {
         category.setDescription(categoryDTO.getDescription());
         
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.CATEGORY, updatedCategory.getId(), ContentChangedEvent.Action.UPDATED));
         return convertToDTO(updatedCategory);
     }
 
@@ -56,6 +64,7 @@ public class CategoryService {
     public boolean deleteById(Long id) {
         if (categoryRepository.existsById(id)) {
             categoryRepository.deleteById(id);
+            eventPublisher.publishEvent(new ContentChangedEvent(ContentType.CATEGORY, id, ContentChangedEvent.Action.DELETED));
             return true;
         }
         return false;
@@ -5,9 +5,17 @@ import com.arca.backend.model.User;
 import com.arca.backend.dto.CommentDTO;
 import com.arca.backend.dto.CommentCreateDTO;
 import com.arca.backend.dto.CommentUpdateDTO;
+import com.arca.backend.dto.CursorPage;
+import com.arca.backend.dto.PageCursor;
 import com.arca.backend.repository.CommentRepository;
 import com.arca.backend.repository.UserRepository;
+import com.arca.backend.repository.VideoRepository;
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,6 +24,9 @@ import java.util.stream.Collectors;
 
 @Service
 public class CommentService {
+
+    // Limite de comentários por cadeia (o caminho de ids da consulta recursiva comporta ~380 níveis)
+    private static final int MAX_CHAIN_DEPTH = 300;
     
     @Autowired
     private CommentRepository commentRepository;
@@ -23,6 +34,12 @@ public class CommentService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private VideoRepository videoRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public CommentDTO save(CommentCreateDTO dto) {
         User user = userRepository.findById(dto.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + dto.getUserId()));
@@ -38,6 +55,7 @@ public class CommentService {
         }
         
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.COMMENT, savedComment.getId(), ContentChangedEvent.Action.CREATED));
         return convertToDTO(savedComment);
     }
 
@@ -60,6 +78,7 @@ public class CommentService {
         }
         
         Comment updatedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.COMMENT, updatedComment.getId(), ContentChangedEvent.Action.UPDATED));
         return convertToDTO(updatedComment);
     }
 
@@ -69,6 +88,20 @@ public class CommentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Listagem paginada por cursor (keyset), sem OFFSET
+     */
+    public CursorPage<CommentDTO> findPage(String after, Integer limit) {
+        PageCursor cursor = PageCursor.decode(after);
+        int pageSize = CursorPage.normalizeLimit(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Comment> rows = cursor == null
+                ? commentRepository.findPage(pageable)
+                : commentRepository.findPageAfter(cursor.getCreatedAt(), cursor.getId(), pageable);
+        return CursorPage.of(rows.stream().map(this::convertToDTO).collect(Collectors.toList()), pageSize,
+                dto -> new PageCursor(dto.getCreatedAt(), dto.getId()));
+    }
+
     public CommentDTO findById(Long id) {
         Optional<Comment> comment = commentRepository.findById(id);
         if (comment.isEmpty()) {
@@ -85,24 +118,36 @@ public class CommentService {
 
     public boolean deleteById(Long id) {
         if (commentRepository.existsById(id)) {
+            List<Long> videoIds = videoRepository.findIdsByCommentId(id);
             commentRepository.deleteById(id);
+            eventPublisher.publishEvent(new ContentChangedEvent(ContentType.COMMENT, id, ContentChangedEvent.Action.DELETED));
+            // A chave estrangeira limpa comment_id dos vídeos sem alterar o updated_at deles
+            for (Long videoId : videoIds) {
+                eventPublisher.publishEvent(new ContentChangedEvent(ContentType.VIDEO, videoId, ContentChangedEvent.Action.UPDATED));
+            }
             return true;
         }
         return false;
     }
 
+    /**
+     * Retorna a cadeia de comentários a partir de commentId, resolvida em uma única consulta.
+     * Cadeias maiores que MAX_CHAIN_DEPTH são truncadas.
+     */
     public List<CommentDTO> getCommentChain(Long commentId) {
-        List<CommentDTO> chain = new java.util.ArrayList<>();
-        Long currentId = commentId;
-        
-        while (currentId != null) {
-            final Long idToFind = currentId;
-            Comment comment = commentRepository.findById(idToFind)
-                    .orElseThrow(() -> new RuntimeException("Comment not found with id: " + idToFind));
-            chain.add(convertToDTO(comment));
-            currentId = comment.getNextComment() != null ? comment.getNextComment().getId() : null;
+        List<CommentDTO> chain = commentRepository.findChain(commentId, MAX_CHAIN_DEPTH).stream()
+                .map(row -> new CommentDTO(
+                    row.getId(),
+                    row.getUserId(),
+                    row.getUserName(),
+                    row.getComment(),
+                    row.getNextCommentId(),
+                    row.getCreatedAt()
+                ))
+                .collect(Collectors.toList());
+        if (chain.isEmpty()) {
+            throw new RuntimeException("Comment not found with id: " + commentId);
         }
-        
         return chain;
     }
 
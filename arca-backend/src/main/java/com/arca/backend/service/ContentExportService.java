@@ -0,0 +1,145 @@
+package com.arca.backend.service;
+
+import com.arca.backend.dto.ArticleDTO;
+import com.arca.backend.dto.DocumentDTO;
+import com.arca.backend.dto.ExportFilter;
+import com.arca.backend.dto.VideoDTO;
+import com.arca.backend.repository.ArticleRepository;
+import com.arca.backend.repository.DocumentRepository;
+import com.arca.backend.repository.VideoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de documentos, vídeos e artigos em NDJSON ou CSV.
+ * As linhas são lidas do banco em streaming (fetch size) e escritas na saída uma a uma,
+ * então o uso de memória não depende do tamanho da tabela.
+ */
+@Service
+public class ContentExportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final List<String> DOCUMENT_COLUMNS = List.of("id", "userId", "userName", "title", "description",
+            "link", "categoryId", "categoryName", "schoolId", "schoolName", "repositoryId", "repositoryName", "createdAt");
+    private static final List<String> VIDEO_COLUMNS = List.of("id", "title", "description", "url", "urlThumbnail",
+            "status", "repositoryId", "repositoryName", "userId", "userName", "schoolId", "schoolName", "commentId",
+            "uploadedAt");
+    private static final List<String> ARTICLE_COLUMNS = List.of("id", "journalId", "authors", "title", "url",
+            "userId", "userName", "status", "commentId", "createdAt");
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ContentExportService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Exportação já validada, escrita quando a resposta for enviada
+     */
+    public interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    public Export documents(ExportFilter filter, String format) {
+        checkFormat(format);
+        return out -> write(format, out, DOCUMENT_COLUMNS, (DocumentDTO dto) -> Arrays.asList(
+                dto.getId(), dto.getUserId(), dto.getUserName(), dto.getTitle(), dto.getDescription(), dto.getLink(),
+                dto.getCategoryId(), dto.getCategoryName(), dto.getSchoolId(), dto.getSchoolName(),
+                dto.getRepositoryId(), dto.getRepositoryName(), dto.getCreatedAt()),
+                () -> documentRepository.streamForExport(filter.getSchoolId(), filter.getRepositoryId(),
+                        filter.getCategoryId(), filter.getFromTime(), filter.getToTime()));
+    }
+
+    public Export videos(ExportFilter filter, String format) {
+        checkFormat(format);
+        return out -> write(format, out, VIDEO_COLUMNS, (VideoDTO dto) -> Arrays.asList(
+                dto.getId(), dto.getTitle(), dto.getDescription(), dto.getUrl(), dto.getUrlThumbnail(),
+                dto.getStatus(), dto.getRepositoryId(), dto.getRepositoryName(), dto.getUserId(), dto.getUserName(),
+                dto.getSchoolId(), dto.getSchoolName(), dto.getCommentId(), dto.getUploadedAt()),
+                () -> videoRepository.streamForExport(filter.getSchoolId(), filter.getRepositoryId(),
+                        filter.getFromTime(), filter.getToTime()));
+    }
+
+    public Export articles(ExportFilter filter, String format) {
+        checkFormat(format);
+        return out -> write(format, out, ARTICLE_COLUMNS, (ArticleDTO dto) -> Arrays.asList(
+                dto.getId(), dto.getJournalId(), dto.getAuthors(), dto.getTitle(), dto.getUrl(), dto.getUserId(),
+                dto.getUserName(), dto.getStatus(), dto.getCommentId(), dto.getCreatedAt()),
+                () -> articleRepository.streamForExport(filter.getSchoolId(), filter.getRepositoryId(),
+                        filter.getFromTime(), filter.getToTime()));
+    }
+
+    private static void checkFormat(String format) {
+        if (!FORMAT_NDJSON.equals(format) && !FORMAT_CSV.equals(format)) {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + format);
+        }
+    }
+
+    // O stream precisa ser consumido dentro de uma transação; o cursor é fechado ao final
+    private <T> void write(String format, OutputStream out, List<String> columns, Function<T, List<?>> values,
+                           Supplier<Stream<T>> query) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<T> rows = query.get()) {
+                    Iterator<T> iterator = rows.iterator();
+                    if (FORMAT_CSV.equals(format)) {
+                        CsvRecordWriter csv = new CsvRecordWriter(writer);
+                        // BOM para que planilhas reconheçam o UTF-8
+                        writer.write('\uFEFF');
+                        csv.write(columns);
+                        while (iterator.hasNext()) {
+                            csv.write(values.apply(iterator.next()));
+                        }
+                    } else {
+                        ObjectWriter json = objectMapper.writer();
+                        while (iterator.hasNext()) {
+                            writer.write(json.writeValueAsString(iterator.next()));
+                            writer.write('\n');
+                        }
+                    }
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.arca.backend.service;
+
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentImportedEvent;
+import com.arca.backend.event.ContentModeratedEvent;
+import com.arca.backend.event.ContentType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Versão das coleções de conteúdo, usada como ETag/Last-Modified nas listagens.
+ * Cada tipo combina um carimbo do banco (COUNT e MAX(updated_at), recalculado periodicamente)
+ * com um contador em memória incrementado a cada ContentChangedEvent, então a versão muda
+ * imediatamente após uma gravação feita pelos services sem consultar o banco a cada requisição.
+ */
+@Service
+public class ContentVersionService {
+
+    private static final Map<ContentType, String> TABLES = new EnumMap<>(ContentType.class);
+    // Tabelas com updated_at; nas demais o carimbo do banco usa só a contagem
+    private static final Set<ContentType> WITH_UPDATED_AT = EnumSet.of(
+            ContentType.DOCUMENT, ContentType.VIDEO, ContentType.JOURNAL, ContentType.ARTICLE, ContentType.COMMENT);
+
+    static {
+        TABLES.put(ContentType.SCHOOL, "schools");
+        TABLES.put(ContentType.REPOSITORY, "repositories");
+        TABLES.put(ContentType.CATEGORY, "categories");
+        TABLES.put(ContentType.JOURNAL, "journals");
+        TABLES.put(ContentType.ARTICLE, "articles");
+        TABLES.put(ContentType.VIDEO, "videos");
+        TABLES.put(ContentType.DOCUMENT, "documents");
+        TABLES.put(ContentType.COMMENT, "comments");
+        TABLES.put(ContentType.USER, "users");
+    }
+
+    private static final String STAMP_QUERY = buildStampQuery();
+
+    // Tipos cujos dados aparecem em cada listagem (ex: documentos exibem categoria, escola, repositório e autor)
+    public static final Set<ContentType> DOCUMENTS = Collections.unmodifiableSet(EnumSet.of(
+            ContentType.DOCUMENT, ContentType.CATEGORY, ContentType.SCHOOL, ContentType.REPOSITORY, ContentType.USER));
+    public static final Set<ContentType> VIDEOS = Collections.unmodifiableSet(EnumSet.of(
+            ContentType.VIDEO, ContentType.SCHOOL, ContentType.REPOSITORY, ContentType.USER, ContentType.COMMENT));
+    // Vídeos aprovados (listagem pública): comentários só mudam o vídeo pela remoção, que publica VIDEO
+    public static final Set<ContentType> PUBLIC_VIDEOS = Collections.unmodifiableSet(EnumSet.of(
+            ContentType.VIDEO, ContentType.SCHOOL, ContentType.REPOSITORY, ContentType.USER));
+    public static final Set<ContentType> JOURNALS = Collections.unmodifiableSet(EnumSet.of(
+            ContentType.JOURNAL, ContentType.SCHOOL, ContentType.REPOSITORY, ContentType.USER));
+    public static final Set<ContentType> ARTICLES = Collections.unmodifiableSet(EnumSet.of(
+            ContentType.ARTICLE, ContentType.JOURNAL, ContentType.USER, ContentType.COMMENT));
+    public static final Set<ContentType> REPOSITORIES = Collections.unmodifiableSet(EnumSet.of(
+            ContentType.REPOSITORY));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<ContentType, AtomicLong> counters = new EnumMap<>(ContentType.class);
+    private final Map<ContentType, AtomicLong> lastChanged = new EnumMap<>(ContentType.class);
+    private final long startedAt = System.currentTimeMillis();
+    private volatile Map<ContentType, Stamp> stamps;
+
+    public ContentVersionService() {
+        for (ContentType type : ContentType.values()) {
+            counters.put(type, new AtomicLong());
+            lastChanged.put(type, new AtomicLong());
+        }
+    }
+
+    /**
+     * Versão de uma coleção que depende dos tipos informados
+     */
+    public Version version(String resource, Set<ContentType> types) {
+        Map<ContentType, Stamp> current = stamps;
+        if (current == null) {
+            current = refresh();
+        }
+        StringBuilder key = new StringBuilder(resource);
+        long lastModified = 0L;
+        for (ContentType type : types) {
+            Stamp stamp = current.get(type);
+            key.append('|').append(type).append(':').append(stamp.count).append(':').append(stamp.maxUpdatedAt)
+                    .append(':').append(counters.get(type).get());
+            lastModified = Math.max(lastModified, Math.max(stamp.maxUpdatedAt, lastChanged.get(type).get()));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(key.toString().getBytes(StandardCharsets.UTF_8));
+        return new Version(resource + "-" + Long.toHexString(crc.getValue()), lastModified);
+    }
+
+    /**
+     * Recalcula o carimbo do banco de todos os tipos (detecta alterações feitas fora da aplicação)
+     */
+    @Scheduled(fixedDelayString = "${content-version.refresh-interval:60000}",
+            initialDelayString = "${content-version.refresh-interval:60000}")
+    public Map<ContentType, Stamp> refresh() {
+        Map<ContentType, Stamp> refreshed = jdbcTemplate.queryForObject(STAMP_QUERY, (rs, rowNum) -> {
+            Map<ContentType, Stamp> row = new EnumMap<>(ContentType.class);
+            for (ContentType type : TABLES.keySet()) {
+                String prefix = type.name().toLowerCase();
+                long maxUpdatedAt = 0L;
+                if (WITH_UPDATED_AT.contains(type)) {
+                    Timestamp timestamp = rs.getTimestamp(prefix + "_updated");
+                    maxUpdatedAt = timestamp != null ? timestamp.getTime() : 0L;
+                } else {
+                    // Sem updated_at não há como saber quando mudou: parte do início da aplicação
+                    maxUpdatedAt = startedAt;
+                }
+                row.put(type, new Stamp(rs.getLong(prefix + "_count"), maxUpdatedAt));
+            }
+            return row;
+        });
+        stamps = Collections.unmodifiableMap(refreshed);
+        return stamps;
+    }
+
+    /**
+     * Invalida todas as versões (ex: após alterar dados direto no banco)
+     */
+    public void invalidateAll() {
+        long now = System.currentTimeMillis();
+        for (ContentType type : ContentType.values()) {
+            counters.get(type).incrementAndGet();
+            lastChanged.get(type).set(now);
+        }
+        refresh();
+    }
+
+    // Aplicado após o commit (ou imediatamente, fora de transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        markChanged(event.getType());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentImported(ContentImportedEvent event) {
+        markChanged(event.getType());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentModerated(ContentModeratedEvent event) {
+        markChanged(event.getType());
+    }
+
+    private void markChanged(ContentType type) {
+        counters.get(type).incrementAndGet();
+        lastChanged.get(type).set(System.currentTimeMillis());
+    }
+
+    private static String buildStampQuery() {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        boolean first = true;
+        for (Map.Entry<ContentType, String> entry : TABLES.entrySet()) {
+            String prefix = entry.getKey().name().toLowerCase();
+            if (!first) {
+                sql.append(", ");
+            }
+            first = false;
+            sql.append("(SELECT COUNT(*) FROM ").append(entry.getValue()).append(") AS ").append(prefix).append("_count");
+            if (WITH_UPDATED_AT.contains(entry.getKey())) {
+                sql.append(", (SELECT MAX(updated_at) FROM ").append(entry.getValue()).append(") AS ")
+                        .append(prefix).append("_updated");
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Carimbo do banco de um tipo: contagem e maior updated_at (em ms)
+     */
+    public static final class Stamp {
+        private final long count;
+        private final long maxUpdatedAt;
+
+        private Stamp(long count, long maxUpdatedAt) {
+            this.count = count;
+            this.maxUpdatedAt = maxUpdatedAt;
+        }
+    }
+
+    /**
+     * ETag (sem aspas) e Last-Modified (ms) de uma coleção
+     */
+    public static final class Version {
+        private final String etag;
+        private final long lastModified;
+
+        private Version(String etag, long lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.arca.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) registro a registro, sem carregar o arquivo em memória.
+ * Aceita campos entre aspas com vírgulas, aspas duplicadas e quebras de linha.
+ */
+class CsvRecordReader {
+
+    private final BufferedReader reader;
+    private char delimiter = ',';
+    private long lineNumber;
+    private long recordLine;
+
+    CsvRecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Linha do arquivo (a partir de 1) onde começa o último registro lido
+     */
+    long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Próximo registro, ou null no fim do arquivo. Linhas em branco são ignoradas.
+     */
+    List<String> next() throws IOException {
+        String line = readLine();
+        while (line != null && line.isBlank()) {
+            line = readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        recordLine = lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // Campo entre aspas continua na próxima linha
+                line = readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("Aspas não fechadas no registro da linha " + recordLine);
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+            // BOM gerado por planilhas no início do arquivo
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+        }
+        return line;
+    }
+}
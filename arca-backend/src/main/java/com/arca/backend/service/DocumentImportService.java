@@ -0,0 +1,314 @@
+package com.arca.backend.service;
+
+import com.arca.backend.dto.DocumentCreateDTO;
+import com.arca.backend.dto.DocumentImportResultDTO;
+import com.arca.backend.event.ContentImportedEvent;
+import com.arca.backend.event.ContentType;
+import com.arca.backend.model.Document;
+import com.arca.backend.model.User;
+import com.arca.backend.repository.CategoryRepository;
+import com.arca.backend.repository.RepositoryRepository;
+import com.arca.backend.repository.SchoolRepository;
+import com.arca.backend.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importação em lote de documentos a partir de CSV ou NDJSON (um objeto JSON por linha).
+ * O corpo é lido registro a registro; as linhas válidas são gravadas em blocos, cada um na
+ * sua própria transação, com os INSERTs agrupados em batch pelo Hibernate.
+ */
+@Service
+public class DocumentImportService {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    // Limite para reler o cabeçalho com outro separador
+    private static final int MAX_HEADER_LENGTH = 64 * 1024;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private RepositoryRepository repositoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${documents.import.chunk-size:500}")
+    private int chunkSize;
+
+    public DocumentImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * CSV com cabeçalho (title, description, link, categoryId, schoolId, repositoryId),
+     * separado por vírgula ou ponto e vírgula. O dono dos documentos é o usuário informado.
+     */
+    public DocumentImportResultDTO importCsv(BufferedReader reader, Long userId) throws IOException {
+        reader.mark(MAX_HEADER_LENGTH);
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio");
+        }
+        if (header.stream().anyMatch(name -> name.indexOf(';') >= 0)) {
+            // Separado por ponto e vírgula: o cabeçalho é lido de novo para tratar nomes entre aspas
+            try {
+                reader.reset();
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cabeçalho do CSV muito longo");
+            }
+            csv = new CsvRecordReader(reader);
+            csv.setDelimiter(';');
+            header = csv.next();
+        }
+        // Nomes de coluna sem diferenciar maiúsculas e ignorando '_' (category_id = categoryId)
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace("_", "").toLowerCase(), i);
+        }
+        for (String required : List.of("title", "link", "categoryid", "repositoryid")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Coluna obrigatória ausente no CSV: " + required);
+            }
+        }
+
+        Importer importer = new Importer(userId);
+        while (true) {
+            List<String> record;
+            try {
+                record = csv.next();
+            } catch (IllegalArgumentException e) {
+                // Aspas não fechadas consomem o restante do arquivo
+                importer.fail(csv.getRecordLine(), e.getMessage());
+                break;
+            }
+            if (record == null) {
+                break;
+            }
+            try {
+                importer.add(csv.getRecordLine(), toDTO(record, columns));
+            } catch (IllegalArgumentException e) {
+                importer.fail(csv.getRecordLine(), e.getMessage());
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * NDJSON: cada linha é um objeto com os campos de DocumentCreateDTO (userId é ignorado)
+     */
+    public DocumentImportResultDTO importNdjson(BufferedReader reader, Long userId) throws IOException {
+        ObjectReader rowReader = objectMapper.readerFor(DocumentCreateDTO.class);
+        Importer importer = new Importer(userId);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                importer.add(lineNumber, rowReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                importer.fail(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+        return importer.finish();
+    }
+
+    private static DocumentCreateDTO toDTO(List<String> record, Map<String, Integer> columns) {
+        DocumentCreateDTO dto = new DocumentCreateDTO();
+        dto.setTitle(column(record, columns, "title"));
+        dto.setDescription(column(record, columns, "description"));
+        dto.setLink(column(record, columns, "link"));
+        dto.setCategoryId(parseId(column(record, columns, "categoryid"), "categoryId"));
+        dto.setSchoolId(parseId(column(record, columns, "schoolid"), "schoolId"));
+        dto.setRepositoryId(parseId(column(record, columns, "repositoryid"), "repositoryId"));
+        return dto;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Long parseId(String value, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private Set<Long> loadIds(String table) {
+        return new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM " + table, Long.class));
+    }
+
+    /**
+     * Estado de uma importação: referências válidas, bloco pendente e relatório
+     */
+    private class Importer {
+        private final Long userId;
+        // Categorias, escolas e repositórios são poucos: carregados uma vez por importação
+        private final Set<Long> categoryIds = loadIds("categories");
+        private final Set<Long> schoolIds = loadIds("schools");
+        private final Set<Long> repositoryIds = loadIds("repositories");
+        private final List<Long> chunkLines = new ArrayList<>();
+        private final List<DocumentCreateDTO> chunk = new ArrayList<>();
+        private final DocumentImportResultDTO result = new DocumentImportResultDTO();
+
+        private Importer(Long userId) {
+            this.userId = userId;
+        }
+
+        private void add(long line, DocumentCreateDTO dto) {
+            String error = validate(dto);
+            if (error != null) {
+                fail(line, error);
+                return;
+            }
+            chunkLines.add(line);
+            chunk.add(dto);
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        private void fail(long line, String error) {
+            result.addFailed(line, error);
+        }
+
+        private DocumentImportResultDTO finish() {
+            flushChunk();
+            result.sortRows();
+            return result;
+        }
+
+        private String validate(DocumentCreateDTO dto) {
+            if (dto.getTitle() == null || dto.getTitle().isBlank()) {
+                return "Title is required";
+            }
+            if (dto.getTitle().length() > MAX_TEXT_LENGTH) {
+                return "Title exceeds " + MAX_TEXT_LENGTH + " characters";
+            }
+            if (dto.getLink() == null || dto.getLink().isBlank()) {
+                return "Link is required";
+            }
+            if (dto.getLink().length() > MAX_TEXT_LENGTH) {
+                return "Link exceeds " + MAX_TEXT_LENGTH + " characters";
+            }
+            if (dto.getCategoryId() == null || !categoryIds.contains(dto.getCategoryId())) {
+                return "Category not found with id: " + dto.getCategoryId();
+            }
+            if (dto.getRepositoryId() == null || !repositoryIds.contains(dto.getRepositoryId())) {
+                return "Repository not found with id: " + dto.getRepositoryId();
+            }
+            if (dto.getSchoolId() != null && !schoolIds.contains(dto.getSchoolId())) {
+                return "School not found with id: " + dto.getSchoolId();
+            }
+            return null;
+        }
+
+        private void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> persist(chunk));
+                for (int i = 0; i < ids.size(); i++) {
+                    result.addCreated(chunkLines.get(i), ids.get(i));
+                }
+            } catch (DataAccessException | PersistenceException e) {
+                // Uma linha rejeitada pelo banco desfaz o bloco: regrava linha a linha para identificá-la
+                for (int i = 0; i < chunk.size(); i++) {
+                    List<DocumentCreateDTO> single = List.of(chunk.get(i));
+                    try {
+                        List<Long> ids = transactionTemplate.execute(status -> persist(single));
+                        result.addCreated(chunkLines.get(i), ids.get(0));
+                    } catch (DataAccessException | PersistenceException rowError) {
+                        result.addFailed(chunkLines.get(i), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                    }
+                }
+            }
+            chunk.clear();
+            chunkLines.clear();
+        }
+
+        // Executado dentro da transação do bloco
+        private List<Long> persist(List<DocumentCreateDTO> rows) {
+            User user = userRepository.getReferenceById(userId);
+            List<Document> documents = new ArrayList<>(rows.size());
+            for (DocumentCreateDTO dto : rows) {
+                Document document = new Document();
+                document.setUser(user);
+                document.setTitle(dto.getTitle());
+                document.setDescription(dto.getDescription());
+                document.setLink(dto.getLink());
+                document.setCategory(categoryRepository.getReferenceById(dto.getCategoryId()));
+                if (dto.getSchoolId() != null) {
+                    document.setSchool(schoolRepository.getReferenceById(dto.getSchoolId()));
+                }
+                document.setRepository(repositoryRepository.getReferenceById(dto.getRepositoryId()));
+                entityManager.persist(document);
+                documents.add(document);
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            List<Long> ids = new ArrayList<>(documents.size());
+            for (Document document : documents) {
+                ids.add(document.getId());
+            }
+            eventPublisher.publishEvent(new ContentImportedEvent(ContentType.DOCUMENT, ids));
+            return ids;
+        }
+    }
+}
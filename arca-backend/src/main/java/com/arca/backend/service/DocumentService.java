@@ -1,24 +1,30 @@
 package com.arca.backend.service;
 
 import com.arca.backend.model.Document;
-import com.arca.backend.model.User;
 import com.arca.backend.model.Category;
 import com.arca.backend.model.School;
 import com.arca.backend.model.Repository;
+import com.arca.backend.dto.CursorPage;
 import com.arca.backend.dto.DocumentDTO;
 import com.arca.backend.dto.DocumentCreateDTO;
 import com.arca.backend.dto.DocumentUpdateDTO;
+import com.arca.backend.dto.PageCursor;
 import com.arca.backend.repository.DocumentRepository;
 import com.arca.backend.repository.UserRepository;
 import com.arca.backend.repository.CategoryRepository;
 import com.arca.backend.repository.SchoolRepository;
 import com.arca.backend.repository.RepositoryRepository;
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class DocumentService {
@@ -37,34 +43,61 @@ public class DocumentService {
     
     @Autowired
     private RepositoryRepository repositoryRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Valida todas as referências com uma única consulta e vincula as associações por
+     * referência (getReferenceById), sem carregar as entidades relacionadas.
+     */
+    @Transactional
     public DocumentDTO save(DocumentCreateDTO documentCreateDTO) {
-        User user = userRepository.findById(documentCreateDTO.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + documentCreateDTO.getUserId()));
-        
-        Category category = categoryRepository.findById(documentCreateDTO.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found with id: " + documentCreateDTO.getCategoryId()));
-        
-        Repository repository = repositoryRepository.findById(documentCreateDTO.getRepositoryId())
-                .orElseThrow(() -> new RuntimeException("Repository not found with id: " + documentCreateDTO.getRepositoryId()));
-        
-        School school = null;
-        if (documentCreateDTO.getSchoolId() != null) {
-            school = schoolRepository.findById(documentCreateDTO.getSchoolId())
-                    .orElseThrow(() -> new RuntimeException("School not found with id: " + documentCreateDTO.getSchoolId()));
+        DocumentRepository.ReferenceNames names = documentRepository.findReferenceNames(
+                documentCreateDTO.getUserId(), documentCreateDTO.getCategoryId(),
+                documentCreateDTO.getRepositoryId(), documentCreateDTO.getSchoolId());
+        if (names.getUserName() == null) {
+            throw new RuntimeException("User not found with id: " + documentCreateDTO.getUserId());
+        }
+        if (names.getCategoryName() == null) {
+            throw new RuntimeException("Category not found with id: " + documentCreateDTO.getCategoryId());
+        }
+        if (names.getRepositoryName() == null) {
+            throw new RuntimeException("Repository not found with id: " + documentCreateDTO.getRepositoryId());
+        }
+        if (documentCreateDTO.getSchoolId() != null && names.getSchoolName() == null) {
+            throw new RuntimeException("School not found with id: " + documentCreateDTO.getSchoolId());
         }
         
         Document document = new Document();
-        document.setUser(user);
+        document.setUser(userRepository.getReferenceById(documentCreateDTO.getUserId()));
         document.setTitle(documentCreateDTO.getTitle());
         document.setDescription(documentCreateDTO.getDescription());
         document.setLink(documentCreateDTO.getLink());
-        document.setCategory(category);
-        document.setSchool(school);
-        document.setRepository(repository);
+        document.setCategory(categoryRepository.getReferenceById(documentCreateDTO.getCategoryId()));
+        if (documentCreateDTO.getSchoolId() != null) {
+            document.setSchool(schoolRepository.getReferenceById(documentCreateDTO.getSchoolId()));
+        }
+        document.setRepository(repositoryRepository.getReferenceById(documentCreateDTO.getRepositoryId()));
         
         Document savedDocument = documentRepository.save(document);
-        return convertToDTO(savedDocument);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.DOCUMENT, savedDocument.getId(), ContentChangedEvent.Action.CREATED));
+        // Os nomes vêm da consulta de validação para não inicializar as referências
+        return new DocumentDTO(
+                savedDocument.getId(),
+                documentCreateDTO.getUserId(),
+                names.getUserName(),
+                savedDocument.getTitle(),
+                savedDocument.getDescription(),
+                savedDocument.getLink(),
+                documentCreateDTO.getCategoryId(),
+                names.getCategoryName(),
+                documentCreateDTO.getSchoolId(),
+                names.getSchoolName(),
+                documentCreateDTO.getRepositoryId(),
+                names.getRepositoryName(),
+                savedDocument.getCreatedAt()
+        );
     }
 
     public DocumentDTO update(Long id, DocumentUpdateDTO documentUpdateDTO) {
@@ -100,6 +133,7 @@ public class DocumentService {
         }
         
         Document updatedDocument = documentRepository.save(document);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.DOCUMENT, updatedDocument.getId(), ContentChangedEvent.Action.UPDATED));
         return convertToDTO(updatedDocument);
     }
 
@@ -109,63 +143,53 @@ public class DocumentService {
             throw new RuntimeException("Document not found with id: " + id);
         }
         documentRepository.deleteById(id);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.DOCUMENT, id, ContentChangedEvent.Action.DELETED));
     }
 
     public DocumentDTO findById(Long id) {
-        Optional<Document> document = documentRepository.findById(id);
-        if (document.isEmpty()) {
-            throw new RuntimeException("Document not found with id: " + id);
-        }
-        return convertToDTO(document.get());
+        return documentRepository.findDTOById(id)
+                .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
     }
 
     public List<DocumentDTO> findAll() {
-        List<Document> documents = documentRepository.findAll();
-        return documents.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return documentRepository.findAllDTO();
+    }
+
+    /**
+     * Listagem paginada por cursor (keyset), sem OFFSET
+     */
+    public CursorPage<DocumentDTO> findPage(String after, Integer limit) {
+        PageCursor cursor = PageCursor.decode(after);
+        int pageSize = CursorPage.normalizeLimit(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<DocumentDTO> rows = cursor == null
+                ? documentRepository.findPageDTO(pageable)
+                : documentRepository.findPageDTOAfter(cursor.getCreatedAt(), cursor.getId(), pageable);
+        return CursorPage.of(rows, pageSize, dto -> new PageCursor(dto.getCreatedAt(), dto.getId()));
     }
 
     public List<DocumentDTO> findBySchoolId(Long schoolId) {
-        List<Document> documents = documentRepository.findBySchoolId(schoolId);
-        return documents.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return documentRepository.findDTOBySchoolId(schoolId);
     }
 
     public List<DocumentDTO> findByUserId(Long userId) {
-        List<Document> documents = documentRepository.findByUserId(userId);
-        return documents.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return documentRepository.findDTOByUserId(userId);
     }
 
     public List<DocumentDTO> findByRepositoryId(Long repositoryId) {
-        List<Document> documents = documentRepository.findByRepositoryId(repositoryId);
-        return documents.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return documentRepository.findDTOByRepositoryId(repositoryId);
     }
 
     public List<DocumentDTO> findByCategoryId(Long categoryId) {
-        List<Document> documents = documentRepository.findByCategoryId(categoryId);
-        return documents.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return documentRepository.findDTOByCategoryId(categoryId);
     }
 
     public List<DocumentDTO> findBySchoolIdAndCategoryId(Long schoolId, Long categoryId) {
-        List<Document> documents = documentRepository.findBySchoolIdAndCategoryId(schoolId, categoryId);
-        return documents.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return documentRepository.findDTOBySchoolIdAndCategoryId(schoolId, categoryId);
     }
 
     public List<DocumentDTO> findByRepositoryIdAndCategoryId(Long repositoryId, Long categoryId) {
-        List<Document> documents = documentRepository.findByRepositoryIdAndCategoryId(repositoryId, categoryId);
-        return documents.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return documentRepository.findDTOByRepositoryIdAndCategoryId(repositoryId, categoryId);
     }
 
     private DocumentDTO convertToDTO(Document document) {
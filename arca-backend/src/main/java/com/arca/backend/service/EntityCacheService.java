@@ -0,0 +1,67 @@
+package com.arca.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estatísticas e invalidação do cache de segundo nível do Hibernate
+ */
+@Service
+public class EntityCacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public Map<String, Object> getStatistics() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hits", statistics.getSecondLevelCacheHitCount());
+        result.put("misses", statistics.getSecondLevelCacheMissCount());
+        result.put("puts", statistics.getSecondLevelCachePutCount());
+        result.put("queryHits", statistics.getQueryCacheHitCount());
+        result.put("queryMisses", statistics.getQueryCacheMissCount());
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            Map<String, Object> regionStats = new LinkedHashMap<>();
+            regionStats.put("hits", region.getHitCount());
+            regionStats.put("misses", region.getMissCount());
+            regionStats.put("puts", region.getPutCount());
+            regions.put(regionName, regionStats);
+        }
+        result.put("regions", regions);
+        return result;
+    }
+
+    public void evictAll() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    /**
+     * Remove do cache as roles em cache de usuários cujos user_roles foram alterados fora do Hibernate
+     */
+    public void evictUserRoles(Iterable<Long> userIds) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        for (Long userId : userIds) {
+            sessionFactory.getCache().evictCollectionData("com.arca.backend.model.User.roles", userId);
+        }
+    }
+
+    /**
+     * Remove do cache entidades alteradas fora do Hibernate (ex: via JDBC)
+     */
+    public void evictEntity(Class<?> entityClass, Object id) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictEntityData(entityClass, id);
+    }
+}
@@ -0,0 +1,434 @@
+package com.arca.backend.service;
+
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentImportedEvent;
+import com.arca.backend.event.ContentType;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.facet.DrillDownQuery;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.Facets;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.MMapDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Índice Lucene embutido (MMapDirectory em disco local) com as facetas de documentos, vídeos,
+ * artigos e revistas: escola, categoria, repositório e status.
+ * É reconstruído a partir do banco na inicialização, em lotes paralelos, e mantido atualizado
+ * pelos ContentChangedEvent publicados pelos services (a moderação chega via ModerationPipelineService),
+ * com reabertura near-real-time do leitor. Alterações recebidas durante a reconstrução são
+ * reaplicadas quando ela termina.
+ */
+@Service
+public class FacetIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(FacetIndexService.class);
+
+    public static final String DIM_SCHOOL = "school";
+    public static final String DIM_CATEGORY = "category";
+    public static final String DIM_REPOSITORY = "repository";
+    public static final String DIM_STATUS = "status";
+    public static final List<String> DIMENSIONS = List.of(DIM_SCHOOL, DIM_CATEGORY, DIM_REPOSITORY, DIM_STATUS);
+
+    // Maior distância entre ids reindexados no mesmo intervalo (linhas intermediárias também são relidas)
+    private static final long REINDEX_MAX_GAP = 64;
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_JOURNAL = "journal";
+
+    // Colunas comuns a todos os tipos: id, school_id, category_id, repository_id, status, journal_id
+    private static final Map<ContentType, String> ROW_QUERIES = new EnumMap<>(Map.of(
+        ContentType.DOCUMENT, "SELECT d.id, d.school_id, d.category_id, d.repository_id, NULL AS status, NULL AS journal_id "
+                + "FROM documents d WHERE d.id BETWEEN ? AND ?",
+        ContentType.VIDEO, "SELECT v.id, v.school_id, NULL AS category_id, v.repository_id, v.status, NULL AS journal_id "
+                + "FROM videos v WHERE v.id BETWEEN ? AND ?",
+        ContentType.ARTICLE, "SELECT a.id, j.school_id, NULL AS category_id, j.repository_id, a.status, a.journal_id "
+                + "FROM articles a JOIN journals j ON j.id = a.journal_id WHERE a.id BETWEEN ? AND ?",
+        ContentType.JOURNAL, "SELECT j.id, j.school_id, NULL AS category_id, j.repository_id, j.status, NULL AS journal_id "
+                + "FROM journals j WHERE j.id BETWEEN ? AND ?"
+    ));
+
+    private static final Map<ContentType, String> TABLES = new EnumMap<>(Map.of(
+        ContentType.DOCUMENT, "documents",
+        ContentType.VIDEO, "videos",
+        ContentType.ARTICLE, "articles",
+        ContentType.JOURNAL, "journals"
+    ));
+
+    // Remoções que apagam conteúdos indexados em cascata no banco, e o campo indexado correspondente
+    private static final Map<ContentType, String> CASCADE_FIELDS = new EnumMap<>(Map.of(
+        ContentType.SCHOOL, DIM_SCHOOL,
+        ContentType.CATEGORY, DIM_CATEGORY,
+        ContentType.REPOSITORY, DIM_REPOSITORY,
+        ContentType.JOURNAL, FIELD_JOURNAL
+    ));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Path indexPath;
+    private final int rebuildThreads;
+    private final int rebuildBatchSize;
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+
+    private MMapDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private volatile boolean ready;
+    // Alterações recebidas durante a reconstrução: reaplicadas depois dela (null fora da reconstrução)
+    private final Object pendingLock = new Object();
+    private List<Runnable> pendingUpdates;
+    // Estado das facetas é caro de montar: reaproveitado enquanto o leitor não muda
+    private volatile ReaderState readerState;
+
+    public FacetIndexService(
+            JdbcTemplate jdbcTemplate,
+            @Value("${search.facets.enabled:true}") boolean enabled,
+            @Value("${search.facets.index-path:./data/facet-index}") String indexPath,
+            @Value("${search.facets.rebuild-threads:4}") int rebuildThreads,
+            @Value("${search.facets.rebuild-batch-size:5000}") int rebuildBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.indexPath = Paths.get(indexPath);
+        this.rebuildThreads = Math.max(1, rebuildThreads);
+        this.rebuildBatchSize = Math.max(1, rebuildBatchSize);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (pendingLock) {
+            pendingUpdates = new ArrayList<>();
+        }
+        try {
+            open();
+            long start = System.currentTimeMillis();
+            writer.deleteAll();
+
+            ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads);
+            try {
+                List<Future<?>> batches = new ArrayList<>();
+                for (ContentType type : ROW_QUERIES.keySet()) {
+                    Map<String, Object> range = jdbcTemplate.queryForMap(
+                            "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM " + TABLES.get(type));
+                    if (range.get("min_id") == null) {
+                        continue;
+                    }
+                    long min = ((Number) range.get("min_id")).longValue();
+                    long max = ((Number) range.get("max_id")).longValue();
+                    for (long from = min; from <= max; from += rebuildBatchSize) {
+                        long to = Math.min(max, from + rebuildBatchSize - 1);
+                        long batchFrom = from;
+                        batches.add(executor.submit(() -> {
+                            indexRange(type, batchFrom, to);
+                            return null;
+                        }));
+                    }
+                }
+                for (Future<?> batch : batches) {
+                    batch.get();
+                }
+            } finally {
+                // Em caso de falha, os lotes ainda pendentes são cancelados
+                executor.shutdownNow();
+            }
+
+            writer.commit();
+            // Uma linha removida ou alterada durante a leitura dos lotes pode ter sido indexada com o estado antigo
+            applyPendingUpdates();
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            log.info("Índice de facetas reconstruído: {} registros em {} ms",
+                    writer.getDocStats().numDocs, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Reconstrução do índice de facetas interrompida; as facetas ficam indisponíveis", e);
+        } catch (Exception e) {
+            log.error("Falha ao reconstruir o índice de facetas; as facetas ficam indisponíveis", e);
+        } finally {
+            applyPendingUpdates();
+        }
+    }
+
+    // Aplicado após o commit (ou imediatamente, fora de transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (deferDuringRebuild(() -> onContentChanged(event)) || writer == null) {
+            return;
+        }
+        try {
+            ContentType type = event.getType();
+            if (event.getAction() == ContentChangedEvent.Action.DELETED) {
+                if (ROW_QUERIES.containsKey(type)) {
+                    writer.deleteDocuments(new Term(FIELD_KEY, key(type, event.getId())));
+                }
+                String cascadeField = CASCADE_FIELDS.get(type);
+                if (cascadeField != null) {
+                    writer.deleteDocuments(new Term(cascadeField, String.valueOf(event.getId())));
+                }
+            } else if (ROW_QUERIES.containsKey(type)) {
+                indexRange(type, event.getId(), event.getId());
+                // Escola e repositório dos artigos vêm da revista
+                if (type == ContentType.JOURNAL && event.getAction() == ContentChangedEvent.Action.UPDATED) {
+                    reindexJournalArticles(event.getId());
+                }
+            }
+        } catch (IOException e) {
+            log.error("Falha ao atualizar o índice de facetas ({} {})", event.getType(), event.getId(), e);
+        }
+    }
+
+    // Importação em lote: os ids de um bloco são reindexados com uma única consulta por intervalo
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentImported(ContentImportedEvent event) {
+        if (deferDuringRebuild(() -> onContentImported(event)) || writer == null || event.getIds().isEmpty() || !ROW_QUERIES.containsKey(event.getType())) {
+            return;
+        }
+        try {
+            long from = event.getIds().stream().mapToLong(Long::longValue).min().getAsLong();
+            long to = event.getIds().stream().mapToLong(Long::longValue).max().getAsLong();
+            indexRange(event.getType(), from, to);
+        } catch (IOException e) {
+            log.error("Falha ao indexar a importação no índice de facetas ({} {} registros)", event.getType(),
+                    event.getIds().size(), e);
+        }
+    }
+
+    /**
+     * Reindexa os registros informados (ex: status alterado pela moderação). Ids próximos são
+     * agrupados em intervalos para que cada grupo seja lido com uma única consulta.
+     */
+    public void reindex(ContentType type, List<Long> ids) {
+        if (deferDuringRebuild(() -> reindex(type, ids)) || writer == null || ids.isEmpty() || !ROW_QUERIES.containsKey(type)) {
+            return;
+        }
+        try {
+            long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+            int start = 0;
+            for (int i = 1; i <= sorted.length; i++) {
+                if (i == sorted.length || sorted[i] - sorted[i - 1] > REINDEX_MAX_GAP) {
+                    indexRange(type, sorted[start], sorted[i - 1]);
+                    start = i;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Falha ao reindexar o índice de facetas ({} {} registros)", type, ids.size(), e);
+        }
+    }
+
+    /**
+     * Contagem por faceta dos registros de um tipo, opcionalmente filtrados por valores de outras facetas
+     * (ex: documentos por categoria dentro da escola 3). Os rótulos são os ids (ou o status).
+     */
+    public Map<String, Map<String, Integer>> count(ContentType type, List<String> dims, Map<String, String> filters) {
+        if (!ready) {
+            throw new IllegalStateException("Índice de facetas indisponível");
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                DrillDownQuery query = new DrillDownQuery(facetsConfig, new TermQuery(new Term(FIELD_TYPE, type.name())));
+                for (Map.Entry<String, String> filter : filters.entrySet()) {
+                    query.add(filter.getKey(), filter.getValue());
+                }
+                FacetsCollector collector = searcher.search(query, new FacetsCollectorManager());
+
+                SortedSetDocValuesReaderState state = readerState(searcher.getIndexReader());
+                Facets facets = new SortedSetDocValuesFacetCounts(state, collector);
+                Map<String, Map<String, Integer>> result = new LinkedHashMap<>();
+                for (String dim : dims) {
+                    Map<String, Integer> counts = new LinkedHashMap<>();
+                    if (state.getOrdRange(dim) != null) {
+                        FacetResult facetResult = facets.getAllChildren(dim);
+                        if (facetResult != null) {
+                            for (LabelAndValue labelAndValue : facetResult.labelValues) {
+                                counts.put(labelAndValue.label, labelAndValue.value.intValue());
+                            }
+                        }
+                    }
+                    result.put(dim, counts);
+                }
+                return result;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            if (reopenThread != null) {
+                reopenThread.close();
+            }
+            if (searcherManager != null) {
+                searcherManager.close();
+            }
+            if (writer != null) {
+                writer.close();
+            }
+            if (directory != null) {
+                directory.close();
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao fechar o índice de facetas", e);
+        }
+    }
+
+    private void open() throws IOException {
+        if (writer != null) {
+            return;
+        }
+        Files.createDirectories(indexPath);
+        directory = new MMapDirectory(indexPath);
+        writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer())
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, new SearcherFactory());
+        // Reabre o leitor em até 1s após uma alteração (near-real-time)
+        reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, 1.0, 0.1);
+        reopenThread.setName("facet-index-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+    }
+
+    private boolean deferDuringRebuild(Runnable update) {
+        synchronized (pendingLock) {
+            if (pendingUpdates == null) {
+                return false;
+            }
+            pendingUpdates.add(update);
+            return true;
+        }
+    }
+
+    // Reaplica na ordem de chegada; alterações concorrentes aguardam o fim da reaplicação
+    private void applyPendingUpdates() {
+        synchronized (pendingLock) {
+            List<Runnable> updates = pendingUpdates;
+            pendingUpdates = null;
+            if (updates != null) {
+                updates.forEach(Runnable::run);
+            }
+        }
+    }
+
+    private void reindexJournalArticles(Long journalId) throws IOException {
+        List<Long> articleIds = jdbcTemplate.queryForList(
+                "SELECT id FROM articles WHERE journal_id = ?", Long.class, journalId);
+        for (Long articleId : articleIds) {
+            indexRange(ContentType.ARTICLE, articleId, articleId);
+        }
+    }
+
+    private void indexRange(ContentType type, long fromId, long toId) throws IOException {
+        Map<String, Document> documents = new LinkedHashMap<>();
+        jdbcTemplate.query(ROW_QUERIES.get(type), (RowCallbackHandler) rs -> {
+            Document document = new Document();
+            String key = key(type, rs.getLong(1));
+            document.add(new StringField(FIELD_KEY, key, Field.Store.NO));
+            document.add(new StringField(FIELD_TYPE, type.name(), Field.Store.NO));
+            addFacet(document, DIM_SCHOOL, rs.getString(2));
+            addFacet(document, DIM_CATEGORY, rs.getString(3));
+            addFacet(document, DIM_REPOSITORY, rs.getString(4));
+            addFacet(document, DIM_STATUS, rs.getString(5));
+            String journalId = rs.getString(6);
+            if (journalId != null) {
+                document.add(new StringField(FIELD_JOURNAL, journalId, Field.Store.NO));
+            }
+            documents.put(key, document);
+        }, fromId, toId);
+
+        if (fromId == toId && documents.isEmpty()) {
+            // Registro não existe mais: remove do índice
+            writer.deleteDocuments(new Term(FIELD_KEY, key(type, fromId)));
+            return;
+        }
+        for (Map.Entry<String, Document> entry : documents.entrySet()) {
+            writer.updateDocument(new Term(FIELD_KEY, entry.getKey()), facetsConfig.build(entry.getValue()));
+        }
+    }
+
+    // Cada faceta também é indexada como termo para permitir remoções em cascata
+    private static void addFacet(Document document, String dim, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        document.add(new StringField(dim, value, Field.Store.NO));
+        document.add(new SortedSetDocValuesFacetField(dim, value));
+    }
+
+    private static String key(ContentType type, Long id) {
+        return type.name() + ":" + id;
+    }
+
+    private SortedSetDocValuesReaderState readerState(IndexReader reader) throws IOException {
+        ReaderState current = readerState;
+        if (current == null || current.reader != reader) {
+            current = new ReaderState(reader, new DefaultSortedSetDocValuesReaderState(reader, facetsConfig));
+            readerState = current;
+        }
+        return current.state;
+    }
+
+    private static final class ReaderState {
+        private final IndexReader reader;
+        private final SortedSetDocValuesReaderState state;
+
+        private ReaderState(IndexReader reader, SortedSetDocValuesReaderState state) {
+            this.reader = reader;
+            this.state = state;
+        }
+    }
+}
@@ -2,17 +2,23 @@ package com.arca.backend.service;
 
 import com.arca.backend.model.Journal;
 import com.arca.backend.model.Repository;
-import com.arca.backend.model.School;
-import com.arca.backend.model.User;
 import com.arca.backend.dto.JournalDTO;
 import com.arca.backend.dto.JournalCreateDTO;
 import com.arca.backend.dto.JournalUpdateDTO;
+import com.arca.backend.dto.CursorPage;
+import com.arca.backend.dto.PageCursor;
 import com.arca.backend.repository.JournalRepository;
 import com.arca.backend.repository.RepositoryRepository;
 import com.arca.backend.repository.SchoolRepository;
 import com.arca.backend.repository.UserRepository;
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -32,28 +38,51 @@ public class JournalService {
     
     @Autowired
     private UserRepository userRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Valida as referências com uma única consulta e vincula as associações por referência
+     */
+    @Transactional
     public JournalDTO save(JournalCreateDTO dto) {
-        Repository repository = repositoryRepository.findById(dto.getRepositoryId())
-                .orElseThrow(() -> new RuntimeException("Repository not found with id: " + dto.getRepositoryId()));
-        
-        School school = schoolRepository.findById(dto.getSchoolId())
-                .orElseThrow(() -> new RuntimeException("School not found with id: " + dto.getSchoolId()));
-        
-        User user = userRepository.findById(dto.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + dto.getUserId()));
+        JournalRepository.ReferenceNames names = journalRepository.findReferenceNames(
+                dto.getRepositoryId(), dto.getSchoolId(), dto.getUserId());
+        if (names.getRepositoryName() == null) {
+            throw new RuntimeException("Repository not found with id: " + dto.getRepositoryId());
+        }
+        if (names.getSchoolName() == null) {
+            throw new RuntimeException("School not found with id: " + dto.getSchoolId());
+        }
+        if (names.getUserName() == null) {
+            throw new RuntimeException("User not found with id: " + dto.getUserId());
+        }
         
         Journal journal = new Journal();
         journal.setName(dto.getName());
-        journal.setRepository(repository);
-        journal.setSchool(school);
-        journal.setUser(user);
+        journal.setRepository(repositoryRepository.getReferenceById(dto.getRepositoryId()));
+        journal.setSchool(schoolRepository.getReferenceById(dto.getSchoolId()));
+        journal.setUser(userRepository.getReferenceById(dto.getUserId()));
         journal.setOpeningDate(dto.getOpeningDate() != null ? dto.getOpeningDate() : java.time.LocalDate.now());
         journal.setClosingDate(dto.getClosingDate());
         journal.setStatus(dto.getStatus() != null ? dto.getStatus() : "OPEN");
         
         Journal savedJournal = journalRepository.save(journal);
-        return convertToDTO(savedJournal);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.JOURNAL, savedJournal.getId(), ContentChangedEvent.Action.CREATED));
+        return new JournalDTO(
+            savedJournal.getId(),
+            savedJournal.getName(),
+            dto.getRepositoryId(),
+            names.getRepositoryName(),
+            dto.getSchoolId(),
+            names.getSchoolName(),
+            dto.getUserId(),
+            names.getUserName(),
+            savedJournal.getOpeningDate(),
+            savedJournal.getClosingDate(),
+            savedJournal.getStatus()
+        );
     }
 
     public JournalDTO update(Long id, JournalUpdateDTO dto) {
@@ -83,6 +112,7 @@ public class JournalService {
         }
         
         Journal updatedJournal = journalRepository.save(journal);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.JOURNAL, updatedJournal.getId(), ContentChangedEvent.Action.UPDATED));
         return convertToDTO(updatedJournal);
     }
 
@@ -92,6 +122,20 @@ public class JournalService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Listagem paginada por cursor (keyset), sem OFFSET
+     */
+    public CursorPage<JournalDTO> findPage(String after, Integer limit) {
+        PageCursor cursor = PageCursor.decode(after);
+        int pageSize = CursorPage.normalizeLimit(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Journal> rows = cursor == null
+                ? journalRepository.findPage(pageable)
+                : journalRepository.findPageAfter(cursor.getId(), pageable);
+        return CursorPage.of(rows.stream().map(this::convertToDTO).collect(Collectors.toList()), pageSize,
+                dto -> new PageCursor(null, dto.getId()));
+    }
+
     public JournalDTO findById(Long id) {
         Optional<Journal> journal = journalRepository.findById(id);
         if (journal.isEmpty()) {
@@ -133,6 +177,7 @@ public class JournalService {
     public boolean deleteById(Long id) {
         if (journalRepository.existsById(id)) {
             journalRepository.deleteById(id);
+            eventPublisher.publishEvent(new ContentChangedEvent(ContentType.JOURNAL, id, ContentChangedEvent.Action.DELETED));
             return true;
         }
         return false;
@@ -0,0 +1,49 @@
+package com.arca.backend.service;
+
+import com.arca.backend.dto.ModerationResultDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validação e resultado das moderações em lote de artigos e vídeos
+ */
+final class ModerationBatches {
+
+    private ModerationBatches() {
+    }
+
+    /**
+     * Ids sem repetição, na ordem recebida
+     */
+    static List<Long> normalize(List<Long> ids, int maxSize) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required");
+        }
+        Set<Long> unique = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("Null id in batch");
+            }
+            unique.add(id);
+        }
+        if (unique.size() > maxSize) {
+            throw new IllegalArgumentException("Batch exceeds " + maxSize + " ids");
+        }
+        return new ArrayList<>(unique);
+    }
+
+    static ModerationResultDTO result(String status, List<Long> requested, Collection<Long> existing) {
+        Set<Long> found = new HashSet<>(existing);
+        List<Long> updated = new ArrayList<>();
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : requested) {
+            (found.contains(id) ? updated : notFound).add(id);
+        }
+        return new ModerationResultDTO(status, updated, notFound);
+    }
+}
@@ -0,0 +1,63 @@
+package com.arca.backend.service;
+
+import com.arca.backend.event.ContentModeratedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tarefas posteriores à moderação de artigos e vídeos, executadas em segundo plano para que a
+ * requisição do moderador retorne logo após o UPDATE. Versões (ETag) e respostas públicas em cache
+ * são invalidadas na hora pelo ContentVersionService; aqui fica o trabalho mais caro (índice de facetas).
+ * A fila é limitada: quando cheia, a tarefa roda na própria thread que publicou o evento.
+ */
+@Service
+public class ModerationPipelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(ModerationPipelineService.class);
+
+    private final FacetIndexService facetIndexService;
+    private final ThreadPoolExecutor executor;
+
+    public ModerationPipelineService(
+            FacetIndexService facetIndexService,
+            @Value("${moderation.pipeline.threads:2}") int threads,
+            @Value("${moderation.pipeline.queue-capacity:1000}") int queueCapacity
+    ) {
+        this.facetIndexService = facetIndexService;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "moderation-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Aplicado após o commit (ou imediatamente, fora de transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentModerated(ContentModeratedEvent event) {
+        executor.execute(() -> {
+            try {
+                facetIndexService.reindex(event.getType(), event.getIds());
+            } catch (RuntimeException e) {
+                log.error("Falha no processamento da moderação ({} {} registros)", event.getType(),
+                        event.getIds().size(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -4,14 +4,22 @@ import com.arca.backend.model.Permission;
 import com.arca.backend.model.Role;
 import com.arca.backend.model.User;
 import com.arca.backend.repository.PermissionRepository;
+import com.arca.backend.repository.RoleRepository;
 import com.arca.backend.repository.UserRepository;
+import com.arca.backend.security.ApiPermissionMatcher;
+import com.arca.backend.security.PermissionVersionTracker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Service
 public class PermissionService {
@@ -21,8 +29,20 @@ public class PermissionService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionVersionTracker permissionVersionTracker;
+
+    // Matchers compilados por role, para não consultar o banco a cada requisição
+    private final Map<Long, ApiPermissionMatcher> roleMatchers = new ConcurrentHashMap<>();
+    private final AtomicLong matchersGeneration = new AtomicLong();
+
     public Permission save(Permission permission) {
-        return permissionRepository.save(permission);
+        Permission saved = permissionRepository.save(permission);
+        evictAllRoles();
+        return saved;
     }
 
     public List<Permission> findAll() {
@@ -31,6 +51,34 @@ public class PermissionService {
 
     public void deleteById(Long id) {
         permissionRepository.deleteById(id);
+        evictAllRoles();
+    }
+
+    /**
+     * Remove o matcher em cache de uma role (chamado quando a role é alterada)
+     */
+    public void evictRole(Long roleId) {
+        if (roleId != null) {
+            matchersGeneration.incrementAndGet();
+            roleMatchers.remove(roleId);
+        }
+    }
+
+    /**
+     * Remove todos os matchers em cache (uma permissão pode pertencer a várias roles).
+     * Os tokens continuam válidos: trazem só ids e nomes das roles, e as URLs vêm dos matchers.
+     */
+    public void evictAllRoles() {
+        matchersGeneration.incrementAndGet();
+        roleMatchers.clear();
+    }
+
+    /**
+     * Desatualiza todos os tokens emitidos (chamado quando uma role é renomeada ou removida,
+     * as únicas alterações que mudam o conteúdo dos claims)
+     */
+    public void invalidateRoleClaims() {
+        permissionVersionTracker.markPermissionsChanged();
     }
 
     /**
@@ -86,50 +134,48 @@ public class PermissionService {
      */
     @Transactional(readOnly = true)
     public boolean hasApiPermission(String username, String requestUri) {
-        Set<String> permissions = getUserApiPermissions(username);
-        
-        System.out.println("=== HAS_API_PERMISSION DEBUG ===");
-        System.out.println("Username: " + username);
-        System.out.println("Request URI: " + requestUri);
-        System.out.println("User Permissions: " + permissions);
-        
-        // Verifica correspondência exata ou com padrão wildcard
-        for (String permissionUrl : permissions) {
-            if (matchesUrl(permissionUrl, requestUri)) {
-                System.out.println("MATCHED with pattern: " + permissionUrl);
-                System.out.println("================================");
-                return true;
-            }
+        User user = userRepository.findByContactEmail(username).orElse(null);
+        if (user == null || user.getRoles() == null) {
+            return false;
         }
-        System.out.println("NO MATCH FOUND");
-        System.out.println("================================");
-        return false;
+        Set<Long> roleIds = user.getRoles().stream()
+                .map(Role::getId)
+                .collect(Collectors.toSet());
+        return hasApiPermission(roleIds, requestUri);
     }
 
     /**
-     * Verifica se uma URL requisitada corresponde a um padrão de permissão
-     * Suporta wildcards com ** para qualquer caminho
+     * Verifica a permissão a partir das roles já conhecidas do usuário autenticado.
+     * Após o primeiro acesso de cada role, a verificação não consulta o banco.
      */
-    private boolean matchesUrl(String pattern, String url) {
-        // Correspondência exata
-        if (pattern.equals(url)) {
-            return true;
-        }
-
-        // Padrão com wildcard no final (ex: /api/users/**)
-        if (pattern.endsWith("/**")) {
-            String basePattern = pattern.substring(0, pattern.length() - 3);
-            return url.startsWith(basePattern);
+    public boolean hasApiPermission(Collection<Long> roleIds, String requestUri) {
+        for (Long roleId : roleIds) {
+            if (getRoleMatcher(roleId).matches(requestUri)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        // Padrão com wildcard no meio (ex: /api/*/documents)
-        if (pattern.contains("*")) {
-            String regexPattern = pattern
-                .replace("**", ".*")
-                .replace("*", "[^/]*");
-            return url.matches(regexPattern);
+    private ApiPermissionMatcher getRoleMatcher(Long roleId) {
+        ApiPermissionMatcher matcher = roleMatchers.get(roleId);
+        if (matcher == null) {
+            // Compila fora de computeIfAbsent para não segurar o lock durante a consulta;
+            // se houve invalidação no meio tempo, o resultado não é guardado
+            long generation = matchersGeneration.get();
+            matcher = compileRoleMatcher(roleId);
+            if (generation == matchersGeneration.get()) {
+                roleMatchers.putIfAbsent(roleId, matcher);
+            }
         }
+        return matcher;
+    }
 
-        return false;
+    private ApiPermissionMatcher compileRoleMatcher(Long roleId) {
+        return roleRepository.findByIdWithPermissions(roleId)
+                .map(role -> ApiPermissionMatcher.compile(role.getPermissions().stream()
+                        .map(Permission::getUrlApi)
+                        .collect(Collectors.toList())))
+                .orElse(ApiPermissionMatcher.EMPTY);
     }
 }
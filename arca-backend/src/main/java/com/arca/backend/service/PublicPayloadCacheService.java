@@ -0,0 +1,150 @@
+package com.arca.backend.service;
+
+import com.arca.backend.event.ContentType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respostas das listagens públicas já serializadas (JSON e JSON gzip), guardadas por endpoint e
+ * parâmetros. Cada entrada fica associada à versão da coleção no ContentVersionService: quando um
+ * service aprova, rejeita ou altera conteúdo a versão muda e a entrada é recriada na próxima requisição.
+ * Com a entrada válida a resposta sai da memória, sem consulta JPA nem serialização.
+ */
+@Service
+public class PublicPayloadCacheService {
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${public.payload-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${public.payload-cache.max-entries:200}")
+    private int maxEntries;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Map<String, Payload> payloads = new ConcurrentHashMap<>();
+    // ReentrantLock em vez de synchronized: a montagem consulta o banco e, com virtual threads,
+    // um monitor mantido durante I/O prende a thread de plataforma. Número fixo de locks, escolhido
+    // pelo hash da chave: parâmetros arbitrários não criam novos objetos
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public PublicPayloadCacheService() {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Resposta do endpoint (ex: "public-videos") para os parâmetros informados. O loader só é
+     * chamado quando não há entrada na versão atual dos tipos dos quais a listagem depende.
+     */
+    public Payload get(String resource, String params, Set<ContentType> types, Supplier<?> loader) {
+        String key = params != null ? resource + "?" + params : resource;
+        // A versão é lida antes do loader: uma gravação concorrente invalida a entrada criada agora
+        String etag = contentVersionService.version(resource, types).getEtag();
+        if (!enabled) {
+            return serialize(etag, loader.get());
+        }
+
+        Payload cached = payloads.get(key);
+        if (cached != null && cached.etag.equals(etag)) {
+            return cached;
+        }
+        // Uma única montagem por chave: as demais requisições aguardam e usam o resultado
+        ReentrantLock lock = locks[Math.floorMod(key.hashCode(), locks.length)];
+        lock.lock();
+        try {
+            cached = payloads.get(key);
+            if (cached != null && cached.etag.equals(etag)) {
+                return cached;
+            }
+            Payload payload = serialize(etag, loader.get());
+            if (payloads.size() >= maxEntries && !payloads.containsKey(key)) {
+                // Parâmetros arbitrários não podem crescer o cache sem limite
+                return payload;
+            }
+            payloads.put(key, payload);
+            return payload;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Resposta montada sem passar pelo cache (ex: parâmetros fora dos valores conhecidos)
+     */
+    public Payload load(String resource, Set<ContentType> types, Supplier<?> loader) {
+        String etag = contentVersionService.version(resource, types).getEtag();
+        return serialize(etag, loader.get());
+    }
+
+    public void clear() {
+        payloads.clear();
+    }
+
+    private Payload serialize(String etag, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new Payload(etag, json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize public payload", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = out.toByteArray();
+        // Respostas pequenas não ganham nada com gzip
+        return compressed.length < json.length ? compressed : null;
+    }
+
+    /**
+     * Corpo JSON pronto e sua versão comprimida (null quando não compensa)
+     */
+    public static final class Payload {
+        private final String etag;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        private Payload(String etag, byte[] json, byte[] gzip) {
+            this.etag = etag;
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+    }
+}
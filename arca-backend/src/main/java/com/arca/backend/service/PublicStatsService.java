@@ -0,0 +1,141 @@
+package com.arca.backend.service;
+
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentImportedEvent;
+import com.arca.backend.event.ContentType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Estatísticas públicas mantidas em memória.
+ * Os contadores são recalculados periodicamente com uma única consulta e ajustados
+ * incrementalmente a cada criação/remoção publicada pelos services.
+ */
+@Service
+public class PublicStatsService {
+
+    private static final String STATS_QUERY = "SELECT "
+            + "(SELECT COUNT(*) FROM schools) AS schools, "
+            + "(SELECT COUNT(*) FROM journals) AS journals, "
+            + "(SELECT COUNT(*) FROM articles) AS articles, "
+            + "(SELECT COUNT(*) FROM videos) AS videos, "
+            + "(SELECT COUNT(*) FROM repositories) AS repositories";
+
+    private static final String[] KEYS = {"schools", "journals", "articles", "videos", "repositories"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            current = refresh();
+        }
+        return current;
+    }
+
+    public long count(String key) {
+        Long value = getSnapshot().getCounts().get(key);
+        return value != null ? value : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${stats.refresh-interval:60000}", initialDelayString = "${stats.refresh-interval:60000}")
+    public Snapshot refresh() {
+        Map<String, Long> counts = jdbcTemplate.queryForObject(STATS_QUERY, (rs, rowNum) -> {
+            Map<String, Long> row = new LinkedHashMap<>();
+            for (String key : KEYS) {
+                row.put(key, rs.getLong(key));
+            }
+            return row;
+        });
+        Snapshot refreshed = new Snapshot(counts);
+        snapshot.set(refreshed);
+        return refreshed;
+    }
+
+    // Aplicado após o commit (ou imediatamente, fora de transação)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getAction() == ContentChangedEvent.Action.UPDATED || snapshot.get() == null) {
+            return;
+        }
+
+        // Remover escola, repositório ou revista apaga conteúdos em cascata no banco: recalcula tudo
+        if (event.getAction() == ContentChangedEvent.Action.DELETED
+                && (event.getType() == ContentType.SCHOOL || event.getType() == ContentType.REPOSITORY
+                        || event.getType() == ContentType.JOURNAL)) {
+            refresh();
+            return;
+        }
+
+        String key = keyOf(event.getType());
+        if (key == null) {
+            return;
+        }
+        long delta = event.getAction() == ContentChangedEvent.Action.CREATED ? 1 : -1;
+        snapshot.updateAndGet(current -> current.adjust(key, delta));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentImported(ContentImportedEvent event) {
+        String key = keyOf(event.getType());
+        if (key == null || snapshot.get() == null) {
+            return;
+        }
+        snapshot.updateAndGet(current -> current.adjust(key, event.getIds().size()));
+    }
+
+    private static String keyOf(ContentType type) {
+        switch (type) {
+            case SCHOOL:
+                return "schools";
+            case JOURNAL:
+                return "journals";
+            case ARTICLE:
+                return "articles";
+            case VIDEO:
+                return "videos";
+            case REPOSITORY:
+                return "repositories";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Fotografia imutável dos contadores, com o ETag correspondente
+     */
+    public static final class Snapshot {
+        private final Map<String, Long> counts;
+        private final String etag;
+
+        private Snapshot(Map<String, Long> counts) {
+            this.counts = Collections.unmodifiableMap(counts);
+            this.etag = "\"stats-" + String.join("-", counts.values().stream().map(String::valueOf).toList()) + "\"";
+        }
+
+        public Map<String, Long> getCounts() {
+            return counts;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        private Snapshot adjust(String key, long delta) {
+            Map<String, Long> adjusted = new LinkedHashMap<>(counts);
+            adjusted.put(key, Math.max(0L, adjusted.getOrDefault(key, 0L) + delta));
+            return new Snapshot(adjusted);
+        }
+    }
+}
@@ -3,18 +3,28 @@ package com.arca.backend.service;
 import com.arca.backend.model.Repository;
 import com.arca.backend.dto.RepositoryDTO;
 import com.arca.backend.repository.RepositoryRepository;
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class RepositoryService {
+
+    // Tipos usados pelos módulos (CEDOC, revistas pedagógicas e São Leo em Cine)
+    public static final Set<String> KNOWN_TYPES = Set.of("CEDOC", "PEDAGOGICO", "SAO_LEO_EM_CINE");
     
     @Autowired
     private RepositoryRepository repositoryRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public RepositoryDTO save(RepositoryDTO repositoryDTO) {
         Repository repository = new Repository();
@@ -23,6 +33,7 @@ public class RepositoryService {
         repository.setType(repositoryDTO.getType() != null ? repositoryDTO.getType() : "CEDOC");
         
         Repository savedRepository = repositoryRepository.save(repository);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.REPOSITORY, savedRepository.getId(), ContentChangedEvent.Action.CREATED));
         return convertToDTO(savedRepository);
     }
 
@@ -40,6 +51,7 @@ public class RepositoryService {
         }
         
         Repository updatedRepository = repositoryRepository.save(repository);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.REPOSITORY, updatedRepository.getId(), ContentChangedEvent.Action.UPDATED));
         return convertToDTO(updatedRepository);
     }
 
@@ -60,6 +72,7 @@ public class RepositoryService {
     public boolean deleteById(Long id) {
         if (repositoryRepository.existsById(id)) {
             repositoryRepository.deleteById(id);
+            eventPublisher.publishEvent(new ContentChangedEvent(ContentType.REPOSITORY, id, ContentChangedEvent.Action.DELETED));
             return true;
         }
         return false;
@@ -5,22 +5,49 @@ import com.arca.backend.repository.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class RoleService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private PermissionService permissionService;
+
     public Role save(Role role) {
-        return roleRepository.save(role);
+        // O nome da role vai nos claims do token: só uma renomeação desatualiza os tokens emitidos
+        String previousName = role.getId() != null
+                ? roleRepository.findNameById(role.getId()).orElse(null)
+                : null;
+        Role saved = roleRepository.save(role);
+        permissionService.evictRole(saved.getId());
+        if (previousName != null && !previousName.equals(saved.getName())) {
+            permissionService.invalidateRoleClaims();
+        }
+        return saved;
     }
 
     public List<Role> findAll() {
         return roleRepository.findAll();
     }
 
+    /**
+     * Busca várias roles em uma única consulta; ids inexistentes são ignorados
+     */
+    public Set<Role> findAllById(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(roleRepository.findAllById(ids));
+    }
+
     public void deleteById(Long id) {
         roleRepository.deleteById(id);
+        permissionService.evictRole(id);
+        permissionService.invalidateRoleClaims();
     }
 }
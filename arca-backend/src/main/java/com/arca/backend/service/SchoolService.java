@@ -11,7 +11,10 @@ import com.arca.backend.dto.ContactDTO;
 import com.arca.backend.dto.AddressDTO;
 import com.arca.backend.dto.PersonDTO;
 import com.arca.backend.repository.SchoolRepository;
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -32,6 +35,9 @@ public class SchoolService {
     
     @Autowired
     private PersonService personService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public SchoolDTO save(SchoolCreateDTO schoolCreateDTO) {
         // Criar ou salvar contato
@@ -54,6 +60,7 @@ public class SchoolService {
         school.setPrincipal(principal);
         
         School savedSchool = schoolRepository.save(school);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.SCHOOL, savedSchool.getId(), ContentChangedEvent.Action.CREATED));
         return convertToDTO(savedSchool);
     }
 
@@ -84,6 +91,7 @@ public class SchoolService {
         personService.save(principal);
         
         School updatedSchool = schoolRepository.save(school);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.SCHOOL, updatedSchool.getId(), ContentChangedEvent.Action.UPDATED));
         return convertToDTO(updatedSchool);
     }
 
@@ -104,6 +112,7 @@ public class SchoolService {
     public boolean deleteById(Long id) {
         if (schoolRepository.existsById(id)) {
             schoolRepository.deleteById(id);
+            eventPublisher.publishEvent(new ContentChangedEvent(ContentType.SCHOOL, id, ContentChangedEvent.Action.DELETED));
             return true;
         }
         return false;
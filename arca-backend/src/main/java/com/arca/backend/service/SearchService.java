@@ -0,0 +1,205 @@
+package com.arca.backend.service;
+
+import com.arca.backend.dto.CursorPage;
+import com.arca.backend.dto.SearchResultDTO;
+import com.arca.backend.event.ContentType;
+import com.arca.backend.repository.ArticleRepository;
+import com.arca.backend.repository.DocumentRepository;
+import com.arca.backend.repository.SearchRow;
+import com.arca.backend.repository.VideoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Busca textual em documentos, vídeos e artigos usando os índices FULLTEXT do MariaDB.
+ * Cada tipo é consultado já ordenado por relevância e os resultados são intercalados pelo score.
+ */
+@Service
+public class SearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    // Paginação por deslocamento: cada tipo busca offset + limit linhas, então o offset é limitado
+    private static final int MAX_OFFSET = 1000;
+    private static final int MAX_TERMS = 10;
+    private static final int SNIPPET_LENGTH = 200;
+
+    // Caracteres com significado especial no BOOLEAN MODE
+    private static final Pattern BOOLEAN_OPERATORS = Pattern.compile("[+\\-<>()~*\"@]");
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private VideoRepository videoRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    /**
+     * @param types      tipos a consultar (DOCUMENT, VIDEO e/ou ARTICLE)
+     * @param publicOnly restringe a vídeos aprovados e artigos aprovados em revistas abertas
+     * @param after      token da próxima página retornado pela busca anterior
+     */
+    public CursorPage<SearchResultDTO> search(String query, Set<ContentType> types, boolean publicOnly,
+                                              String after, Integer limit) {
+        int offset = decodeOffset(after);
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        List<String> terms = extractTerms(query);
+        if (terms.isEmpty() || types.isEmpty()) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+
+        String booleanQuery = toBooleanQuery(terms);
+        int fetch = offset + pageSize + 1;
+        List<SearchResultDTO> results = new ArrayList<>();
+        Pattern highlight = highlightPattern(terms);
+
+        if (types.contains(ContentType.DOCUMENT) && !publicOnly) {
+            addRows(results, ContentType.DOCUMENT, documentRepository.search(booleanQuery, fetch), highlight);
+        }
+        if (types.contains(ContentType.VIDEO)) {
+            List<SearchRow> rows = publicOnly
+                    ? videoRepository.searchApproved(booleanQuery, fetch)
+                    : videoRepository.search(booleanQuery, fetch);
+            addRows(results, ContentType.VIDEO, rows, highlight);
+        }
+        if (types.contains(ContentType.ARTICLE)) {
+            List<SearchRow> rows = publicOnly
+                    ? articleRepository.searchApprovedInOpenJournals(booleanQuery, fetch)
+                    : articleRepository.search(booleanQuery, fetch);
+            addRows(results, ContentType.ARTICLE, rows, highlight);
+        }
+
+        results.sort(Comparator.comparing(SearchResultDTO::getScore, Comparator.reverseOrder())
+                .thenComparing(SearchResultDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(SearchResultDTO::getId, Comparator.reverseOrder()));
+
+        if (offset >= results.size()) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+        int end = Math.min(offset + pageSize, results.size());
+        String nextCursor = results.size() > end ? Integer.toString(end) : null;
+        return new CursorPage<>(new ArrayList<>(results.subList(offset, end)), nextCursor);
+    }
+
+    private static int decodeOffset(String after) {
+        if (after == null || after.isBlank()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(after);
+            if (offset < 0 || offset > MAX_OFFSET) {
+                throw new IllegalArgumentException("Cursor de busca inválido");
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de busca inválido", e);
+        }
+    }
+
+    private static List<String> extractTerms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String raw : query.trim().split("\\s+")) {
+            String term = BOOLEAN_OPERATORS.matcher(raw).replaceAll("");
+            if (!term.isEmpty() && terms.size() < MAX_TERMS) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    // Cada termo vira prefixo opcional (termo*): resultados com mais termos ficam com score maior
+    private static String toBooleanQuery(List<String> terms) {
+        StringBuilder sb = new StringBuilder();
+        for (String term : terms) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(term).append('*');
+        }
+        return sb.toString();
+    }
+
+    private static Pattern highlightPattern(List<String> terms) {
+        StringBuilder sb = new StringBuilder("(?iu)\\b(?:");
+        for (int i = 0; i < terms.size(); i++) {
+            if (i > 0) {
+                sb.append('|');
+            }
+            sb.append(Pattern.quote(terms.get(i)));
+        }
+        sb.append(")\\w*");
+        return Pattern.compile(sb.toString());
+    }
+
+    private static void addRows(List<SearchResultDTO> results, ContentType type, List<SearchRow> rows, Pattern highlight) {
+        for (SearchRow row : rows) {
+            results.add(new SearchResultDTO(
+                type.name(),
+                row.getId(),
+                row.getTitle(),
+                highlight(row.getTitle(), highlight),
+                highlight(snippet(row.getText(), highlight), highlight),
+                row.getScore(),
+                row.getCreatedAt()
+            ));
+        }
+    }
+
+    // Trecho de até SNIPPET_LENGTH caracteres em torno da primeira ocorrência de um termo
+    private static String snippet(String text, Pattern highlight) {
+        if (text == null || text.length() <= SNIPPET_LENGTH) {
+            return text;
+        }
+        Matcher matcher = highlight.matcher(text);
+        int start = matcher.find() ? Math.max(0, matcher.start() - SNIPPET_LENGTH / 4) : 0;
+        int end = Math.min(text.length(), start + SNIPPET_LENGTH);
+        start = Math.max(0, end - SNIPPET_LENGTH);
+        return (start > 0 ? "…" : "") + text.substring(start, end) + (end < text.length() ? "…" : "");
+    }
+
+    private static String highlight(String text, Pattern highlight) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        Matcher matcher = highlight.matcher(text);
+        int last = 0;
+        while (matcher.find()) {
+            sb.append(escapeHtml(text.substring(last, matcher.start())))
+                    .append("<mark>")
+                    .append(escapeHtml(matcher.group()))
+                    .append("</mark>");
+            last = matcher.end();
+        }
+        sb.append(escapeHtml(text.substring(last)));
+        return sb.toString();
+    }
+
+    private static String escapeHtml(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                case '\'' -> sb.append("&#39;");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
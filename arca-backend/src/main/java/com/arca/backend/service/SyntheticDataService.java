@@ -0,0 +1,470 @@
+package com.arca.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Gerador de massa de dados para testes de escala (perfil datagen). Grava escolas, usuários,
+ * repositórios, categorias, documentos, vídeos, revistas, artigos e cadeias de comentários com
+ * INSERTs de várias linhas, acrescentando ao que já existe no banco (roles de data.sql são necessárias).
+ * A distribuição é concentrada como na rede real: poucas escolas com a maior parte do conteúdo e
+ * cadeias de comentários em geral curtas, com algumas muito longas.
+ *
+ * java -jar arca-backend.jar --spring.profiles.active=datagen --datagen.documents=1000000
+ */
+@Service
+@Profile("datagen")
+public class SyntheticDataService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataService.class);
+
+    // Vocabulário dos títulos e descrições (também usado nas buscas do teste de carga)
+    public static final String[] WORDS = {"escola", "ensino", "leitura", "matemática", "história", "ciências",
+            "arte", "música", "cidade", "comunidade", "alunos", "professores", "projeto", "meio ambiente", "esporte",
+            "cultura", "tecnologia", "inclusão", "família", "memória", "patrimônio", "literatura", "geografia"};
+
+    private static final String[] CATEGORY_NAMES = {"Atas", "Leis", "Decretos", "Portarias", "Resoluções",
+            "Pareceres", "Relatórios", "Projetos", "Planos de aula", "Avaliações", "Calendários", "Editais",
+            "Ofícios", "Memorandos", "Fotografias", "Mapas", "Jornais", "Boletins", "Regimentos", "Outros"};
+
+    // Mesmo hash dos usuários de data.sql (senha 123456)
+    private static final String PASSWORD_HASH = "$2a$10$rAqlPg4OovruNSkI0h0FI.CoGqkXOaizeqWysYb7qdFX.Et.qy8D6";
+    private static final int ROWS_PER_INSERT = 1000;
+    private static final long THREE_YEARS_MS = 3L * 365 * 24 * 60 * 60 * 1000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${datagen.schools:2000}")
+    private int schools;
+
+    @Value("${datagen.users:20000}")
+    private int users;
+
+    @Value("${datagen.categories:20}")
+    private int categories;
+
+    @Value("${datagen.repositories-per-type:2}")
+    private int repositoriesPerType;
+
+    @Value("${datagen.documents:500000}")
+    private int documents;
+
+    @Value("${datagen.videos:200000}")
+    private int videos;
+
+    @Value("${datagen.journals:5000}")
+    private int journals;
+
+    @Value("${datagen.articles:200000}")
+    private int articles;
+
+    @Value("${datagen.max-comment-chain:50}")
+    private int maxCommentChain;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    // Encerra a aplicação ao final (uso como ferramenta de linha de comando)
+    @Value("${datagen.exit:true}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        generate();
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    /**
+     * Grava a massa de dados; retorna a quantidade de linhas por tabela
+     */
+    public Map<String, Long> generate() throws SQLException {
+        long start = System.currentTimeMillis();
+        Map<String, Long> rows;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // Cadeias de comentários referenciam linhas do mesmo INSERT; os ids já vêm prontos
+                statement.execute("SET foreign_key_checks = 0");
+            }
+            try {
+                rows = new Generator(connection, new Random(seed)).generate();
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET foreign_key_checks = 1");
+                }
+                connection.setAutoCommit(true);
+            }
+        }
+        long total = rows.values().stream().mapToLong(Long::longValue).sum();
+        log.info("Massa sintética gravada: {} linhas em {} ms {}", total, System.currentTimeMillis() - start, rows);
+        return rows;
+    }
+
+    private final class Generator {
+        private final Connection connection;
+        private final Random random;
+        private final long now = System.currentTimeMillis();
+        private final Map<String, Long> rows = new HashMap<>();
+
+        private final List<Long> categoryIds = new ArrayList<>();
+        private final List<Long> cedocRepositories = new ArrayList<>();
+        private final List<Long> pedagogicoRepositories = new ArrayList<>();
+        private final List<Long> cineRepositories = new ArrayList<>();
+        private long firstSchool;
+        private long firstUser;
+        private long firstJournal;
+        private long nextComment;
+
+        private Generator(Connection connection, Random random) {
+            this.connection = connection;
+            this.random = random;
+        }
+
+        private Map<String, Long> generate() throws SQLException {
+            long schoolRoleId = roleId("SCHOOL");
+            generateCategories();
+            generateRepositories();
+            generateSchoolsAndUsers(schoolRoleId);
+            nextComment = nextId("comments");
+            generateDocuments();
+            generateVideos();
+            generateJournalsAndArticles();
+            for (String table : List.of("documents", "videos", "comments", "articles")) {
+                restartSequence(table);
+            }
+            connection.commit();
+            return rows;
+        }
+
+        // Nomes de categoria são únicos: reaproveita os que já existem
+        private void generateCategories() throws SQLException {
+            Map<String, Long> existing = new HashMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT id, name FROM categories")) {
+                while (rs.next()) {
+                    existing.put(rs.getString("name"), rs.getLong("id"));
+                }
+            }
+            long id = nextId("categories");
+            try (BatchInsert insert = new BatchInsert("categories", "id", "name", "description")) {
+                for (int i = 0; i < categories; i++) {
+                    String name = i < CATEGORY_NAMES.length ? CATEGORY_NAMES[i] : "Categoria " + (i + 1);
+                    Long current = existing.get(name);
+                    if (current == null) {
+                        current = id++;
+                        insert.add(current, name, name);
+                    }
+                    categoryIds.add(current);
+                }
+            }
+        }
+
+        private void generateRepositories() throws SQLException {
+            long id = nextId("repositories");
+            try (BatchInsert insert = new BatchInsert("repositories", "id", "name", "description", "type", "created_at")) {
+                for (int i = 1; i <= repositoriesPerType; i++) {
+                    cedocRepositories.add(id);
+                    insert.add(id++, "CEDOC " + i, "Acervo documental " + i, "CEDOC", timestamp());
+                    pedagogicoRepositories.add(id);
+                    insert.add(id++, "Revistas " + i, "Revistas pedagógicas " + i, "PEDAGOGICO", timestamp());
+                    cineRepositories.add(id);
+                    insert.add(id++, "Cine " + i, "São Leo em Cine " + i, "SAO_LEO_EM_CINE", timestamp());
+                }
+            }
+        }
+
+        // Cada escola tem diretor (person); escolas, diretores e usuários têm contato e endereço próprios
+        private void generateSchoolsAndUsers(long schoolRoleId) throws SQLException {
+            long contact = nextId("contacts");
+            long address = nextId("addresses");
+            long person = nextId("persons");
+            firstSchool = nextId("schools");
+            firstUser = nextId("users");
+
+            try (BatchInsert contacts = new BatchInsert("contacts", "id", "phone", "phone2", "email");
+                 BatchInsert addresses = new BatchInsert("addresses", "id", "street", "city", "state", "number", "zip");
+                 BatchInsert persons = new BatchInsert("persons", "id", "name", "contact_id", "address_id", "created_at");
+                 BatchInsert schoolRows = new BatchInsert("schools",
+                         "id", "name", "contact_id", "address_id", "principal_id", "created_at");
+                 BatchInsert userRows = new BatchInsert("users", "id", "name", "picture", "contact_id",
+                         "address_id", "school_id", "password_hash", "active", "created_at");
+                 BatchInsert userRoles = new BatchInsert("user_roles", "user_id", "role_id")) {
+                for (int i = 0; i < schools; i++) {
+                    long school = firstSchool + i;
+                    contacts.add(contact, phone(), phone(), "diretor" + school + "@escola.test");
+                    addresses.add(address, "Rua " + random.nextInt(300), "São Leopoldo", "RS", number(), "93000-000");
+                    persons.add(person + i, "Diretor " + school, contact++, address++, timestamp());
+
+                    contacts.add(contact, phone(), phone(), "escola" + school + "@escola.test");
+                    addresses.add(address, "Avenida " + random.nextInt(200), "São Leopoldo", "RS", number(), "93000-000");
+                    schoolRows.add(school, "Escola Municipal " + school, contact++, address++, person + i, timestamp());
+                }
+                for (int i = 0; i < users; i++) {
+                    long user = firstUser + i;
+                    // O e-mail é o login: inclui o id para continuar único em execuções seguidas
+                    contacts.add(contact, phone(), phone(), "usuario" + user + "@escola.test");
+                    addresses.add(address, "Rua " + random.nextInt(500), "São Leopoldo", "RS", number(), "93000-000");
+                    userRows.add(user, "Usuário " + user, "https://ui-avatars.com/api/?name=U" + user,
+                            contact++, address++, school(), PASSWORD_HASH, true, timestamp());
+                    userRoles.add(user, schoolRoleId);
+                }
+            }
+        }
+
+        private void generateDocuments() throws SQLException {
+            long id = nextId("documents");
+            try (BatchInsert insert = new BatchInsert("documents", "id", "user_id", "title", "description",
+                    "link", "category_id", "school_id", "repository_id", "created_at", "updated_at")) {
+                for (int i = 0; i < documents; i++) {
+                    long document = id + i;
+                    Timestamp createdAt = timestamp();
+                    // Parte do acervo não pertence a uma escola (leis, decretos)
+                    Long school = random.nextInt(10) == 0 ? null : school();
+                    insert.add(document, user(), title("Documento", document), text(12),
+                            "https://arca.test/documentos/" + document, categoryIds.get(skewed(categoryIds.size())),
+                            school, pick(cedocRepositories), createdAt, createdAt);
+                }
+            }
+        }
+
+        private void generateVideos() throws SQLException {
+            long id = nextId("videos");
+            try (BatchInsert insert = new BatchInsert("videos", "id", "title", "description", "url", "url_thumbnail",
+                    "status", "repository_id", "user_id", "school_id", "comment_id", "uploaded_at", "updated_at");
+                 BatchInsert comments = commentInsert()) {
+                for (int i = 0; i < videos; i++) {
+                    long video = id + i;
+                    Timestamp uploadedAt = timestamp();
+                    Long comment = random.nextInt(10) == 0 ? commentChain(comments) : null;
+                    insert.add(video, title("Vídeo", video), text(15), "https://arca.test/videos/" + video + ".mp4",
+                            "https://arca.test/videos/" + video + ".jpg", status(), pick(cineRepositories), user(),
+                            school(), comment, uploadedAt, uploadedAt);
+                }
+            }
+        }
+
+        private void generateJournalsAndArticles() throws SQLException {
+            firstJournal = nextId("journals");
+            try (BatchInsert insert = new BatchInsert("journals", "id", "name", "repository_id", "school_id",
+                    "user_id", "opening_date", "closing_date", "status", "updated_at")) {
+                for (int i = 0; i < journals; i++) {
+                    LocalDate opening = LocalDate.now().minusDays(random.nextInt(3 * 365));
+                    boolean open = random.nextInt(10) < 6;
+                    insert.add(firstJournal + i, "Revista " + (firstJournal + i), pick(pedagogicoRepositories),
+                            school(), user(), opening, open ? null : opening.plusDays(90), open ? "OPEN" : "CLOSED",
+                            timestamp());
+                }
+            }
+            long id = nextId("articles");
+            try (BatchInsert insert = new BatchInsert("articles", "id", "journal_id", "authors", "title", "url",
+                    "user_id", "status", "comment_id", "created_at", "updated_at");
+                 BatchInsert comments = commentInsert()) {
+                for (int i = 0; i < articles; i++) {
+                    long article = id + i;
+                    Timestamp createdAt = timestamp();
+                    Long comment = random.nextInt(5) == 0 ? commentChain(comments) : null;
+                    insert.add(article, firstJournal + skewed(journals), "Autor " + random.nextInt(5000)
+                                    + ", Autor " + random.nextInt(5000), title("Artigo", article),
+                            "https://arca.test/artigos/" + article, user(), status(), comment, createdAt, createdAt);
+                }
+            }
+        }
+
+        private BatchInsert commentInsert() throws SQLException {
+            return new BatchInsert("comments", "id", "user_id", "comment", "next_comment_id", "created_at", "updated_at");
+        }
+
+        // Cadeia de revisões (Pareto: em geral 1 a 3 comentários, algumas chegam a maxCommentChain); retorna o primeiro
+        private long commentChain(BatchInsert comments) throws SQLException {
+            int length = (int) Math.min(maxCommentChain, Math.floor(Math.pow(1 - random.nextDouble(), -1 / 1.2)));
+            long first = nextComment;
+            for (int i = 0; i < length; i++) {
+                long id = nextComment++;
+                Timestamp createdAt = timestamp();
+                comments.add(id, user(), text(20), i < length - 1 ? id + 1 : null, createdAt, createdAt);
+            }
+            return first;
+        }
+
+        // A sequence precisa começar após o maior id gravado (ver add_id_sequences.sql)
+        private void restartSequence(String table) throws SQLException {
+            long start = nextId(table) - 1 + 50;
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + start);
+            }
+        }
+
+        private long roleId(String name) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM roles WHERE name = ?")) {
+                statement.setString(1, name);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new IllegalStateException("Role " + name + " not found; load db/migrations/data.sql first");
+                    }
+                    return rs.getLong(1);
+                }
+            }
+        }
+
+        private long nextId(String table) throws SQLException {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+
+        private long school() {
+            return firstSchool + skewed(schools);
+        }
+
+        private long user() {
+            return firstUser + random.nextInt(users);
+        }
+
+        // Índice em [0, n) concentrado nos primeiros valores (1% das escolas recebe ~20% do conteúdo)
+        private int skewed(int n) {
+            return (int) (n * Math.pow(random.nextDouble(), 3));
+        }
+
+        private <T> T pick(List<T> values) {
+            return values.get(random.nextInt(values.size()));
+        }
+
+        private String status() {
+            int value = random.nextInt(20);
+            return value < 12 ? "APPROVED" : value < 18 ? "PENDING" : "REJECTED";
+        }
+
+        private Timestamp timestamp() {
+            return new Timestamp(now - (long) (random.nextDouble() * THREE_YEARS_MS));
+        }
+
+        private String title(String prefix, long id) {
+            return prefix + " " + id + ": " + WORDS[random.nextInt(WORDS.length)] + " e "
+                    + WORDS[random.nextInt(WORDS.length)];
+        }
+
+        private String text(int words) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < words; i++) {
+                if (i > 0) {
+                    text.append(' ');
+                }
+                text.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            return text.toString();
+        }
+
+        private String phone() {
+            return "519" + (10000000 + random.nextInt(90000000));
+        }
+
+        private String number() {
+            return String.valueOf(1 + random.nextInt(3000));
+        }
+
+        /**
+         * INSERT com até ROWS_PER_INSERT linhas por comando, confirmado a cada comando
+         */
+        private final class BatchInsert implements AutoCloseable {
+            private final String table;
+            private final String[] columns;
+            private final int rowsPerInsert;
+            private final List<Object> values = new ArrayList<>();
+            private PreparedStatement fullInsert;
+
+            private BatchInsert(String table, String... columns) {
+                this.table = table;
+                this.columns = columns;
+                // O protocolo limita a quantidade de parâmetros por comando
+                this.rowsPerInsert = Math.min(ROWS_PER_INSERT, 65535 / columns.length);
+            }
+
+            private void add(Object... row) throws SQLException {
+                for (Object value : row) {
+                    values.add(value);
+                }
+                if (values.size() == rowsPerInsert * columns.length) {
+                    flush();
+                }
+            }
+
+            private void flush() throws SQLException {
+                int count = values.size() / columns.length;
+                if (count == 0) {
+                    return;
+                }
+                if (count == rowsPerInsert) {
+                    if (fullInsert == null) {
+                        fullInsert = connection.prepareStatement(sql(count));
+                    }
+                    execute(fullInsert);
+                } else {
+                    try (PreparedStatement statement = connection.prepareStatement(sql(count))) {
+                        execute(statement);
+                    }
+                }
+                rows.merge(table, (long) count, Long::sum);
+                values.clear();
+            }
+
+            private void execute(PreparedStatement statement) throws SQLException {
+                for (int i = 0; i < values.size(); i++) {
+                    statement.setObject(i + 1, values.get(i));
+                }
+                statement.executeUpdate();
+                connection.commit();
+            }
+
+            private String sql(int count) {
+                String row = "(" + "?,".repeat(columns.length - 1) + "?)";
+                StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                        .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        sql.append(',');
+                    }
+                    sql.append(row);
+                }
+                return sql.toString();
+            }
+
+            @Override
+            public void close() throws SQLException {
+                flush();
+                if (fullInsert != null) {
+                    fullInsert.close();
+                }
+            }
+        }
+    }
+}
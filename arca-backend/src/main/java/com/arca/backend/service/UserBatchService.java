@@ -0,0 +1,343 @@
+package com.arca.backend.service;
+
+import com.arca.backend.dto.UserBatchItemDTO;
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentType;
+import com.arca.backend.model.Address;
+import com.arca.backend.model.Contact;
+import com.arca.backend.model.Role;
+import com.arca.backend.model.School;
+import com.arca.backend.model.User;
+import com.arca.backend.repository.SchoolRepository;
+import com.arca.backend.repository.UserRepository;
+import com.arca.backend.security.PermissionVersionTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Cadastro em lote de usuários (ex: equipe de uma escola no início do período).
+ * Roles e escolas são resolvidas uma única vez para o lote inteiro e contatos, endereços,
+ * usuários e user_roles são gravados com batches JDBC dentro da mesma transação.
+ */
+@Service
+public class UserBatchService {
+
+    private static final String INSERT_CONTACT = "INSERT INTO contacts (phone, phone2, email) VALUES (?, ?, ?)";
+    private static final String INSERT_ADDRESS = "INSERT INTO addresses (street, city, state, number, zip) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_USER = "INSERT INTO users (name, picture, contact_id, address_id, school_id, "
+            + "password_hash, active, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_CONTACT = "UPDATE contacts SET phone = ?, phone2 = ?, email = ? WHERE id = ?";
+    private static final String UPDATE_ADDRESS = "UPDATE addresses SET street = ?, city = ?, state = ?, number = ?, zip = ? WHERE id = ?";
+    // Mesma semântica do PUT /api/users/{id}: nome, foto e escola são substituídos (nulo limpa) e a senha
+    // só muda quando informada
+    private static final String UPDATE_USER = "UPDATE users SET name = ?, picture = ?, "
+            + "school_id = ?, password_hash = COALESCE(?, password_hash) WHERE id = ?";
+    private static final String DELETE_USER_ROLES = "DELETE FROM user_roles WHERE user_id = ?";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PermissionVersionTracker permissionVersionTracker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${users.batch.max-size:500}")
+    private int maxBatchSize;
+
+    public UserBatchService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Cria (itens sem id) ou atualiza (itens com id) os usuários do lote.
+     * Segue as mesmas regras de POST/PUT /api/users; qualquer item inválido desfaz o lote inteiro.
+     * As senhas são criptografadas (BCrypt) antes de abrir a transação, que só faz as gravações.
+     */
+    public List<User> saveAll(List<UserBatchItemDTO> items) {
+        if (items == null || items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch exceeds " + maxBatchSize + " users");
+        }
+
+        Map<UserBatchItemDTO, String> passwordHashes = new HashMap<>();
+        for (UserBatchItemDTO item : items) {
+            if (item.getId() == null && (item.getContact() == null || item.getAddress() == null
+                    || item.getPassword() == null || item.getPassword().isEmpty())) {
+                throw new IllegalArgumentException("Contato, endereço e senha são obrigatórios para novos usuários");
+            }
+            if (item.getPassword() != null && !item.getPassword().isEmpty()) {
+                passwordHashes.put(item, passwordEncoder.encode(item.getPassword()));
+            }
+        }
+
+        return transactionTemplate.execute(status -> save(items, passwordHashes));
+    }
+
+    private List<User> save(List<UserBatchItemDTO> items, Map<UserBatchItemDTO, String> passwordHashes) {
+        Set<Long> roleIds = new HashSet<>();
+        Set<Long> schoolIds = new HashSet<>();
+        List<UserBatchItemDTO> creates = new ArrayList<>();
+        List<UserBatchItemDTO> updates = new ArrayList<>();
+        for (UserBatchItemDTO item : items) {
+            if (item.getId() == null) {
+                creates.add(item);
+            } else {
+                updates.add(item);
+            }
+            if (item.getRoleIds() != null) {
+                roleIds.addAll(item.getRoleIds());
+            }
+            if (item.getSchoolId() != null) {
+                schoolIds.add(item.getSchoolId());
+            }
+        }
+
+        // Ids inexistentes são ignorados, como nos endpoints individuais
+        Set<Long> validRoleIds = new HashSet<>();
+        for (Role role : roleService.findAllById(roleIds)) {
+            validRoleIds.add(role.getId());
+        }
+        Set<Long> validSchoolIds = new HashSet<>();
+        for (School school : schoolRepository.findAllById(schoolIds)) {
+            validSchoolIds.add(school.getId());
+        }
+
+        List<Long> userIds = new ArrayList<>(items.size());
+        Map<UserBatchItemDTO, Long> createdIds = insertUsers(creates, validSchoolIds, passwordHashes);
+        updateUsers(updates, validSchoolIds, passwordHashes);
+        for (UserBatchItemDTO item : items) {
+            userIds.add(item.getId() != null ? item.getId() : createdIds.get(item));
+        }
+
+        replaceRoles(items, createdIds, validRoleIds);
+
+        // Gravações via JDBC não passam pelo cache de segundo nível
+        entityCacheService.evictUserRoles(userIds);
+        for (Long userId : userIds) {
+            permissionVersionTracker.markUserChanged(userId);
+        }
+        for (UserBatchItemDTO item : items) {
+            eventPublisher.publishEvent(item.getId() != null
+                    ? new ContentChangedEvent(ContentType.USER, item.getId(), ContentChangedEvent.Action.UPDATED)
+                    : new ContentChangedEvent(ContentType.USER, createdIds.get(item), ContentChangedEvent.Action.CREATED));
+        }
+
+        Map<Long, User> saved = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            saved.put(user.getId(), user);
+        }
+        List<User> result = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            result.add(saved.get(userId));
+        }
+        return result;
+    }
+
+    private Map<UserBatchItemDTO, Long> insertUsers(List<UserBatchItemDTO> creates, Set<Long> validSchoolIds,
+                                                    Map<UserBatchItemDTO, String> passwordHashes) {
+        Map<UserBatchItemDTO, Long> createdIds = new HashMap<>();
+        if (creates.isEmpty()) {
+            return createdIds;
+        }
+
+        List<Long> contactIds = insertReturningKeys(INSERT_CONTACT, creates, item -> {
+            Contact contact = item.getContact();
+            return new Object[]{contact.getPhone(), nullToEmpty(contact.getPhone2()), contact.getEmail()};
+        });
+        List<Long> addressIds = insertReturningKeys(INSERT_ADDRESS, creates, item -> {
+            Address address = item.getAddress();
+            return new Object[]{address.getStreet(), address.getCity(), address.getState(), address.getNumber(), address.getZip()};
+        });
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> userRows = new ArrayList<>(creates.size());
+        for (int i = 0; i < creates.size(); i++) {
+            UserBatchItemDTO item = creates.get(i);
+            userRows.add(new Object[]{
+                item.getName(),
+                nullToEmpty(item.getPicture()),
+                contactIds.get(i),
+                addressIds.get(i),
+                validSchoolId(item.getSchoolId(), validSchoolIds),
+                passwordHashes.get(item),
+                true,
+                now
+            });
+        }
+        List<Long> userIds = insertReturningKeys(INSERT_USER, userRows, row -> row);
+
+        for (int i = 0; i < creates.size(); i++) {
+            createdIds.put(creates.get(i), userIds.get(i));
+        }
+        return createdIds;
+    }
+
+    private void updateUsers(List<UserBatchItemDTO> updates, Set<Long> validSchoolIds,
+                             Map<UserBatchItemDTO, String> passwordHashes) {
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        // contact_id e address_id de todos os usuários em uma única consulta
+        Set<Long> ids = new HashSet<>();
+        for (UserBatchItemDTO item : updates) {
+            ids.add(item.getId());
+        }
+        Map<Long, long[]> references = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, contact_id, address_id FROM users WHERE id IN (:ids)",
+                Map.of("ids", ids),
+                rs -> {
+                    references.put(rs.getLong("id"), new long[]{rs.getLong("contact_id"), rs.getLong("address_id")});
+                });
+        for (Long id : ids) {
+            if (!references.containsKey(id)) {
+                throw new IllegalArgumentException("Usuário não encontrado com id: " + id);
+            }
+        }
+
+        List<Object[]> contactRows = new ArrayList<>();
+        List<Object[]> addressRows = new ArrayList<>();
+        List<Object[]> userRows = new ArrayList<>(updates.size());
+        for (UserBatchItemDTO item : updates) {
+            long[] refs = references.get(item.getId());
+            entityCacheService.evictEntity(Contact.class, refs[0]);
+            entityCacheService.evictEntity(Address.class, refs[1]);
+            if (item.getContact() != null) {
+                Contact contact = item.getContact();
+                contactRows.add(new Object[]{contact.getPhone(), contact.getPhone2(), contact.getEmail(), refs[0]});
+            }
+            if (item.getAddress() != null) {
+                Address address = item.getAddress();
+                addressRows.add(new Object[]{address.getStreet(), address.getCity(), address.getState(),
+                        address.getNumber(), address.getZip(), refs[1]});
+            }
+            userRows.add(new Object[]{item.getName(), item.getPicture(),
+                    validSchoolId(item.getSchoolId(), validSchoolIds), passwordHashes.get(item), item.getId()});
+        }
+
+        if (!contactRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_CONTACT, contactRows);
+        }
+        if (!addressRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ADDRESS, addressRows);
+        }
+        jdbcTemplate.batchUpdate(UPDATE_USER, userRows,
+                new int[]{Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.BIGINT});
+    }
+
+    /**
+     * Substitui as roles dos itens que informaram roleIds (lista vazia mantém as roles atuais)
+     */
+    private void replaceRoles(List<UserBatchItemDTO> items, Map<UserBatchItemDTO, Long> createdIds, Set<Long> validRoleIds) {
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (UserBatchItemDTO item : items) {
+            if (item.getRoleIds() == null || item.getRoleIds().isEmpty()) {
+                continue;
+            }
+            Long userId = item.getId() != null ? item.getId() : createdIds.get(item);
+            if (item.getId() != null) {
+                deletes.add(new Object[]{userId});
+            }
+            for (Long roleId : item.getRoleIds()) {
+                if (validRoleIds.contains(roleId)) {
+                    inserts.add(new Object[]{userId, roleId});
+                }
+            }
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_USER_ROLES, deletes);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, inserts);
+        }
+    }
+
+    private <T> List<Long> insertReturningKeys(String sql, List<T> rows, Function<T, Object[]> values) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Object[] row = values.apply(rows.get(i));
+                        for (int column = 0; column < row.length; column++) {
+                            ps.setObject(column + 1, row[column]);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != rows.size()) {
+            throw new IllegalStateException("Chaves geradas inesperadas: " + keys.size() + " de " + rows.size());
+        }
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Map<String, Object> key : keys) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private static Long validSchoolId(Long schoolId, Set<Long> validSchoolIds) {
+        return schoolId != null && validSchoolIds.contains(schoolId) ? schoolId : null;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -1,8 +1,16 @@
 package com.arca.backend.service;
 
+import com.arca.backend.dto.CursorPage;
+import com.arca.backend.dto.PageCursor;
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentType;
 import com.arca.backend.model.User;
 import com.arca.backend.repository.UserRepository;
+import com.arca.backend.security.PermissionVersionTracker;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,14 +21,40 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PermissionVersionTracker permissionVersionTracker;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public User save(User user) {
-        return userRepository.save(user);
+        ContentChangedEvent.Action action = user.getId() == null
+                ? ContentChangedEvent.Action.CREATED
+                : ContentChangedEvent.Action.UPDATED;
+        User saved = userRepository.save(user);
+        // Tokens já emitidos para este usuário voltam a ser validados no banco
+        permissionVersionTracker.markUserChanged(saved.getId());
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.USER, saved.getId(), action));
+        return saved;
     }
 
     public List<User> findAll() {
         return userRepository.findAll();
     }
 
+    /**
+     * Listagem paginada por cursor (keyset), sem OFFSET
+     */
+    public CursorPage<User> findPage(String after, Integer limit) {
+        PageCursor cursor = PageCursor.decode(after);
+        int pageSize = CursorPage.normalizeLimit(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<User> rows = cursor == null
+                ? userRepository.findPage(pageable)
+                : userRepository.findPageAfter(cursor.getCreatedAt(), cursor.getId(), pageable);
+        return CursorPage.of(rows, pageSize, user -> new PageCursor(user.getCreatedAt(), user.getId()));
+    }
+
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
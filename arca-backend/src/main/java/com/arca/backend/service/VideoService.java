@@ -2,19 +2,28 @@ package com.arca.backend.service;
 
 import com.arca.backend.model.Video;
 import com.arca.backend.model.Repository;
-import com.arca.backend.model.User;
-import com.arca.backend.model.School;
 import com.arca.backend.model.Comment;
 import com.arca.backend.dto.VideoDTO;
 import com.arca.backend.dto.VideoCreateDTO;
 import com.arca.backend.dto.VideoUpdateDTO;
+import com.arca.backend.dto.CursorPage;
+import com.arca.backend.dto.PageCursor;
+import com.arca.backend.dto.ModerationResultDTO;
 import com.arca.backend.repository.VideoRepository;
 import com.arca.backend.repository.RepositoryRepository;
 import com.arca.backend.repository.UserRepository;
 import com.arca.backend.repository.SchoolRepository;
 import com.arca.backend.repository.CommentRepository;
+import com.arca.backend.event.ContentChangedEvent;
+import com.arca.backend.event.ContentModeratedEvent;
+import com.arca.backend.event.ContentType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,7 +46,14 @@ public class VideoService {
     
     @Autowired
     private CommentRepository commentRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${moderation.batch.max-size:500}")
+    private int maxModerationBatch;
 
+    @Transactional
     public VideoDTO save(VideoCreateDTO videoCreateDTO) {
         // Validar dados obrigatórios
         if (videoCreateDTO.getRepositoryId() == null || videoCreateDTO.getRepositoryId() <= 0) {
@@ -50,29 +66,49 @@ public class VideoService {
             throw new RuntimeException("School ID is required");
         }
         
-        // Buscar as entidades relacionadas
-        Repository repository = repositoryRepository.findById(videoCreateDTO.getRepositoryId())
-                .orElseThrow(() -> new RuntimeException("Repository not found with id: " + videoCreateDTO.getRepositoryId()));
-        
-        User user = userRepository.findById(videoCreateDTO.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + videoCreateDTO.getUserId()));
-        
-        School school = schoolRepository.findById(videoCreateDTO.getSchoolId())
-                .orElseThrow(() -> new RuntimeException("School not found with id: " + videoCreateDTO.getSchoolId()));
+        // Validar as entidades relacionadas com uma única consulta
+        VideoRepository.ReferenceNames names = videoRepository.findReferenceNames(
+                videoCreateDTO.getRepositoryId(), videoCreateDTO.getUserId(), videoCreateDTO.getSchoolId());
+        if (names.getRepositoryName() == null) {
+            throw new RuntimeException("Repository not found with id: " + videoCreateDTO.getRepositoryId());
+        }
+        if (names.getUserName() == null) {
+            throw new RuntimeException("User not found with id: " + videoCreateDTO.getUserId());
+        }
+        if (names.getSchoolName() == null) {
+            throw new RuntimeException("School not found with id: " + videoCreateDTO.getSchoolId());
+        }
         
-        // Criar vídeo
+        // Criar vídeo vinculando as associações por referência, sem carregá-las
         Video video = new Video();
         video.setTitle(videoCreateDTO.getTitle());
         video.setDescription(videoCreateDTO.getDescription());
         video.setUrl(videoCreateDTO.getUrl());
         video.setUrlThumbnail(videoCreateDTO.getUrlThumbnail());
         video.setStatus("PENDING"); // Status inicial sempre PENDING
-        video.setRepository(repository);
-        video.setUser(user);
-        video.setSchool(school);
+        video.setRepository(repositoryRepository.getReferenceById(videoCreateDTO.getRepositoryId()));
+        video.setUser(userRepository.getReferenceById(videoCreateDTO.getUserId()));
+        video.setSchool(schoolRepository.getReferenceById(videoCreateDTO.getSchoolId()));
         
         Video savedVideo = videoRepository.save(video);
-        return convertToDTO(savedVideo);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.VIDEO, savedVideo.getId(), ContentChangedEvent.Action.CREATED));
+        
+        // Os nomes vêm da consulta de validação para não inicializar as referências
+        VideoDTO dto = new VideoDTO();
+        dto.setId(savedVideo.getId());
+        dto.setTitle(savedVideo.getTitle());
+        dto.setDescription(savedVideo.getDescription());
+        dto.setUrl(savedVideo.getUrl());
+        dto.setUrlThumbnail(savedVideo.getUrlThumbnail());
+        dto.setStatus(savedVideo.getStatus());
+        dto.setRepositoryId(videoCreateDTO.getRepositoryId());
+        dto.setRepositoryName(names.getRepositoryName());
+        dto.setUserId(videoCreateDTO.getUserId());
+        dto.setUserName(names.getUserName());
+        dto.setSchoolId(videoCreateDTO.getSchoolId());
+        dto.setSchoolName(names.getSchoolName());
+        dto.setUploadedAt(savedVideo.getUploadedAt());
+        return dto;
     }
 
     public VideoDTO update(Long id, VideoUpdateDTO videoUpdateDTO) {
@@ -105,6 +141,7 @@ public class VideoService {
         }
         
         Video updatedVideo = videoRepository.save(video);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentType.VIDEO, updatedVideo.getId(), ContentChangedEvent.Action.UPDATED));
         return convertToDTO(updatedVideo);
     }
 
@@ -114,6 +151,20 @@ public class VideoService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Listagem paginada por cursor (keyset), sem OFFSET
+     */
+    public CursorPage<VideoDTO> findPage(String after, Integer limit) {
+        PageCursor cursor = PageCursor.decode(after);
+        int pageSize = CursorPage.normalizeLimit(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Video> rows = cursor == null
+                ? videoRepository.findPage(pageable)
+                : videoRepository.findPageAfter(cursor.getCreatedAt(), cursor.getId(), pageable);
+        return CursorPage.of(rows.stream().map(this::convertToDTO).collect(Collectors.toList()), pageSize,
+                dto -> new PageCursor(dto.getUploadedAt(), dto.getId()));
+    }
+
     public VideoDTO findById(Long id) {
         Optional<Video> video = videoRepository.findById(id);
         if (video.isEmpty()) {
@@ -141,9 +192,7 @@ public class VideoService {
     }
 
     public List<VideoDTO> findByStatus(String status) {
-        return videoRepository.findByStatus(status).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return videoRepository.findDTOByStatus(status);
     }
 
     public List<VideoDTO> findBySchoolIdAndStatus(Long schoolId, String status) {
@@ -155,6 +204,7 @@ public class VideoService {
     public boolean deleteById(Long id) {
         if (videoRepository.existsById(id)) {
             videoRepository.deleteById(id);
+            eventPublisher.publishEvent(new ContentChangedEvent(ContentType.VIDEO, id, ContentChangedEvent.Action.DELETED));
             return true;
         }
         return false;
@@ -173,6 +223,7 @@ public class VideoService {
         Video video = existing.get();
         video.setStatus("APPROVED");
         Video updated = videoRepository.save(video);
+        eventPublisher.publishEvent(new ContentModeratedEvent(ContentType.VIDEO, List.of(updated.getId()), "APPROVED"));
         return convertToDTO(updated);
     }
 
@@ -189,9 +240,36 @@ public class VideoService {
         // será necessário adicionar um campo no modelo Video
         
         Video updated = videoRepository.save(video);
+        eventPublisher.publishEvent(new ContentModeratedEvent(ContentType.VIDEO, List.of(updated.getId()), "REJECTED"));
         return convertToDTO(updated);
     }
 
+    /**
+     * Aprova vários vídeos com um único UPDATE; ids inexistentes voltam em notFound
+     */
+    @Transactional
+    public ModerationResultDTO approveAll(List<Long> ids) {
+        return moderate(ids, "APPROVED");
+    }
+
+    /**
+     * Rejeita vários vídeos com um único UPDATE (sem motivo, como na rejeição individual)
+     */
+    @Transactional
+    public ModerationResultDTO rejectAll(List<Long> ids) {
+        return moderate(ids, "REJECTED");
+    }
+
+    private ModerationResultDTO moderate(List<Long> ids, String status) {
+        List<Long> requested = ModerationBatches.normalize(ids, maxModerationBatch);
+        List<Long> existing = videoRepository.findExistingIds(requested);
+        if (!existing.isEmpty()) {
+            videoRepository.updateStatus(existing, status);
+            eventPublisher.publishEvent(new ContentModeratedEvent(ContentType.VIDEO, existing, status));
+        }
+        return ModerationBatches.result(status, requested, existing);
+    }
+
     // Método de conversão
     private VideoDTO convertToDTO(Video video) {
         VideoDTO dto = new VideoDTO();
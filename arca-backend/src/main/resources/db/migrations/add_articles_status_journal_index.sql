@@ -0,0 +1,4 @@
+-- Índice composto para a listagem pública de artigos aprovados em revistas abertas
+-- Execute este script em bancos criados antes deste índice
+
+CREATE INDEX idx_articles_status_journal ON articles (status, journal_id);
@@ -0,0 +1,6 @@
+-- Índices FULLTEXT usados pela busca textual (/api/search e /api/public/search)
+-- Execute este script em bancos criados antes da busca textual
+
+CREATE FULLTEXT INDEX ft_documents_title_description ON documents (title, description);
+CREATE FULLTEXT INDEX ft_videos_title_description ON videos (title, description);
+CREATE FULLTEXT INDEX ft_articles_title_authors ON articles (title, authors);
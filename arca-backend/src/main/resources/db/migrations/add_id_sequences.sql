@@ -0,0 +1,25 @@
+-- Sequences para os ids de documentos, vídeos, comentários e artigos (requer MariaDB 10.3+)
+-- Execute este script em bancos criados antes da geração de ids por sequence, ANTES de subir a nova versão
+-- (com ddl-auto=update o Hibernate criaria as sequences começando em 1, colidindo com os ids existentes).
+-- Cada sequence começa em MAX(id) + 50: o Hibernate reserva o bloco que termina no valor lido,
+-- então o primeiro id gerado é MAX(id) + 1.
+
+SET @sql = CONCAT('CREATE SEQUENCE documents_seq START WITH ', (SELECT COALESCE(MAX(id), 0) + 50 FROM documents), ' INCREMENT BY 50');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @sql = CONCAT('CREATE SEQUENCE videos_seq START WITH ', (SELECT COALESCE(MAX(id), 0) + 50 FROM videos), ' INCREMENT BY 50');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @sql = CONCAT('CREATE SEQUENCE comments_seq START WITH ', (SELECT COALESCE(MAX(id), 0) + 50 FROM comments), ' INCREMENT BY 50');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @sql = CONCAT('CREATE SEQUENCE articles_seq START WITH ', (SELECT COALESCE(MAX(id), 0) + 50 FROM articles), ' INCREMENT BY 50');
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,8 @@
+-- Índices para a paginação por cursor (keyset) das listagens
+-- Execute este script em bancos criados antes da paginação por cursor
+
+CREATE INDEX idx_documents_created_id ON documents (created_at, id);
+CREATE INDEX idx_videos_uploaded_id ON videos (uploaded_at, id);
+CREATE INDEX idx_articles_created_id ON articles (created_at, id);
+CREATE INDEX idx_comments_created_id ON comments (created_at, id);
+CREATE INDEX idx_users_created_id ON users (created_at, id);
@@ -0,0 +1,20 @@
+-- Coluna updated_at nas tabelas de conteúdo (versão das listagens para ETag/Last-Modified)
+-- Execute este script em bancos criados antes das requisições condicionais
+
+ALTER TABLE documents ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+ALTER TABLE videos ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+ALTER TABLE journals ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+ALTER TABLE articles ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+ALTER TABLE comments ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+
+-- Registros existentes partem da data de criação
+UPDATE documents SET updated_at = created_at WHERE created_at IS NOT NULL;
+UPDATE videos SET updated_at = uploaded_at WHERE uploaded_at IS NOT NULL;
+UPDATE articles SET updated_at = created_at WHERE created_at IS NOT NULL;
+UPDATE comments SET updated_at = created_at WHERE created_at IS NOT NULL;
+
+CREATE INDEX idx_documents_updated ON documents (updated_at);
+CREATE INDEX idx_videos_updated ON videos (updated_at);
+CREATE INDEX idx_journals_updated ON journals (updated_at);
+CREATE INDEX idx_articles_updated ON articles (updated_at);
+CREATE INDEX idx_comments_updated ON comments (updated_at);
@@ -120,7 +120,8 @@ CREATE TABLE videos (
     FOREIGN KEY (school_id) REFERENCES schools(id) ON DELETE CASCADE,
     comment_id BIGINT,
     FOREIGN KEY (comment_id) REFERENCES comments(id) ON DELETE SET NULL,
-    uploaded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    uploaded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
 -- JOURNALS (REVISTAS) --
@@ -135,7 +136,8 @@ CREATE TABLE journals (
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     opening_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     closing_date TIMESTAMP,
-    status VARCHAR(50) NOT NULL DEFAULT 'OPEN'
+    status VARCHAR(50) NOT NULL DEFAULT 'OPEN',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
 -- COMMENTS (COMENTÁRIOS) --
@@ -146,7 +148,8 @@ CREATE TABLE comments (
     comment TEXT NOT NULL,
     next_comment_id BIGINT,
     FOREIGN KEY (next_comment_id) REFERENCES comments(id) ON DELETE SET NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
 -- ARTICLES (ARTIGOS) --
@@ -162,7 +165,8 @@ CREATE TABLE articles (
     status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
     comment_id BIGINT,
     FOREIGN KEY (comment_id) REFERENCES comments(id) ON DELETE SET NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
 -- DOCUMENTS --
@@ -179,5 +183,34 @@ CREATE TABLE documents (
     FOREIGN KEY (school_id) REFERENCES schools(id) ON DELETE CASCADE,
     repository_id BIGINT NOT NULL,
     FOREIGN KEY (repository_id) REFERENCES repositories(id) ON DELETE CASCADE,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
+
+-- SEQUENCES --
+-- Ids de documentos, vídeos, comentários e artigos são alocados pelo Hibernate em blocos de 50
+-- (permite agrupar INSERTs em batch). O INCREMENT BY deve ser igual ao allocationSize das entidades.
+CREATE SEQUENCE documents_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE videos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE articles_seq START WITH 1 INCREMENT BY 50;
+
+-- INDEXES --
+-- Paginação por cursor (keyset) nas listagens: ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_documents_created_id ON documents (created_at, id);
+CREATE INDEX idx_videos_uploaded_id ON videos (uploaded_at, id);
+CREATE INDEX idx_articles_created_id ON articles (created_at, id);
+CREATE INDEX idx_comments_created_id ON comments (created_at, id);
+CREATE INDEX idx_users_created_id ON users (created_at, id);
+-- Listagem pública de artigos: status = 'APPROVED' com junção em journals
+CREATE INDEX idx_articles_status_journal ON articles (status, journal_id);
+-- Versão das listagens para ETag/Last-Modified: MAX(updated_at) lido direto do índice
+CREATE INDEX idx_documents_updated ON documents (updated_at);
+CREATE INDEX idx_videos_updated ON videos (updated_at);
+CREATE INDEX idx_journals_updated ON journals (updated_at);
+CREATE INDEX idx_articles_updated ON articles (updated_at);
+CREATE INDEX idx_comments_updated ON comments (updated_at);
+-- Busca textual (MATCH ... AGAINST) em /api/search e /api/public/search
+CREATE FULLTEXT INDEX ft_documents_title_description ON documents (title, description);
+CREATE FULLTEXT INDEX ft_videos_title_description ON videos (title, description);
+CREATE FULLTEXT INDEX ft_articles_title_authors ON articles (title, authors);
@@ -0,0 +1,87 @@
+package com.arca.backend.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de comandos SQL por rota com sql.diagnostics.fail-over-budget=true: a rota de teste
+ * executa uma consulta por item (N+1) no DataSource envolvido pelo proxy de diagnóstico.
+ */
+class SqlDiagnosticsFilterTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:sql-diagnostics;DB_CLOSE_DELAY=-1");
+        DataSource dataSource = (DataSource) new SqlDiagnosticsDataSourcePostProcessor()
+                .postProcessAfterInitialization(h2, "dataSource");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS items");
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        for (long id = 1; id <= 5; id++) {
+            jdbcTemplate.update("INSERT INTO items (id, name) VALUES (?, ?)", id, "item " + id);
+        }
+    }
+
+    @Test
+    void requestWithinBudgetReportsStatementsInHeaders() throws Exception {
+        MockMvc mockMvc = mockMvc("/items/{count}:3");
+
+        mockMvc.perform(get("/items/3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlDiagnosticsFilter.STATEMENTS_HEADER, "3"));
+    }
+
+    @Test
+    void requestOverBudgetFails() {
+        MockMvc mockMvc = mockMvc("/items/{count}:3");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> mockMvc.perform(get("/items/5")));
+        assertThat(e.getMessage())
+                .contains("GET /items/{count} executed 5 SQL statements")
+                .contains("(budget 3)")
+                .contains("5x select name from items where id = ?");
+    }
+
+    private MockMvc mockMvc(String routeBudgets) {
+        return MockMvcBuilders.standaloneSetup(new ItemsController(jdbcTemplate))
+                .addFilters(new SqlDiagnosticsFilter(true, 30, 0, routeBudgets, true))
+                .build();
+    }
+
+    @RestController
+    static class ItemsController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        ItemsController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @GetMapping("/items/{count}")
+        String items(@PathVariable long count) {
+            StringBuilder names = new StringBuilder();
+            for (long id = 1; id <= count; id++) {
+                names.append(jdbcTemplate.queryForObject("select name from items where id = ?", String.class, id));
+            }
+            return names.toString();
+        }
+    }
+}